@@ -1,12 +1,24 @@
 package dev.deltamc.deltalib;
 
 import dev.dejvokep.boostedyaml.YamlDocument;
+import dev.dejvokep.boostedyaml.block.implementation.Section;
+import dev.deltamc.deltalib.builders.GUIBuilder;
+import dev.deltamc.deltalib.builders.GUISessionRegistry;
+import dev.deltamc.deltalib.command.AsyncCommandExecutor;
+import dev.deltamc.deltalib.command.CommandMetrics;
+import dev.deltamc.deltalib.command.CommandThrottle;
+import dev.deltamc.deltalib.command.DeltaLibCommand;
+import dev.deltamc.deltalib.command.permission.PermissionManagerFactory;
+import dev.deltamc.deltalib.integrations.LuckPermsIntegration;
+import dev.deltamc.deltalib.integrations.PlaceholderAPIIntegration;
 import dev.deltamc.deltalib.utils.config.ConfigUtils;
 import org.bukkit.plugin.java.JavaPlugin;
 import dev.deltamc.deltalib.updater.AutoUpdater;
 import dev.deltamc.deltalib.analytics.bStats;
 import dev.deltamc.deltalib.utils.chat.ChatUtils;
+import dev.deltamc.deltalib.utils.chat.MessageCoalescer;
 
+import java.util.Collections;
 import java.util.logging.Level;
 
 public class DeltaLib extends JavaPlugin {
@@ -16,10 +28,14 @@ public class DeltaLib extends JavaPlugin {
         String version = getDescription().getVersion();
         getLogger().info("DeltaLib v" + version + " is enabling...");
 
+        ChatUtils.initialize(this);
+        MessageCoalescer.start(this);
         YamlDocument config = ConfigUtils.createConfig(this, "config.yml");
 
         try {
-            new bStats(this, 22095);
+            bStats metrics = new bStats(this, 22095);
+            CommandMetrics.registerCharts(metrics);
+            metrics.addCustomChart(new bStats.SingleLineChart("gui_sessions", GUISessionRegistry::size));
             ChatUtils.send(Level.INFO, "bStats metrics tracking enabled successfully.");
         } catch (Exception e) {
             ChatUtils.send(Level.WARNING, "Failed to initialize bStats: " + e.getMessage());
@@ -27,6 +43,28 @@ public class DeltaLib extends JavaPlugin {
 
 
         assert config != null;
+        CommandThrottle.register(this);
+        GUIBuilder.register(this);
+        CommandMetrics.setEnabled(ConfigUtils.getBoolean(config, "COMMAND-METRICS"));
+        PlaceholderAPIIntegration.setStatsEnabled(CommandMetrics.isEnabled());
+        new DeltaLibCommand(this).register();
+
+        if (LuckPermsIntegration.isLuckPermsAvailable()) {
+            LuckPermsIntegration.register(this);
+        }
+
+        if (ConfigUtils.getBoolean(config, "PERMISSION-CACHE")) {
+            // Without LuckPerms recalculation events nothing tells the cache about external permission changes
+            if (LuckPermsIntegration.isLuckPermsAvailable()) {
+                PermissionManagerFactory.enableCaching(this);
+                ChatUtils.send(Level.INFO, "Permission cache enabled.");
+            } else {
+                ChatUtils.send(Level.WARNING, "PERMISSION-CACHE requires LuckPerms for invalidation, permission cache disabled.");
+            }
+        }
+
+        loadPlaceholderCache(config);
+
         boolean autoUpdate = ConfigUtils.getBoolean(config, "AUTO-UPDATER");
 
         if (autoUpdate) {
@@ -39,9 +77,34 @@ public class DeltaLib extends JavaPlugin {
         ChatUtils.send(Level.INFO, "DeltaLib v" + version + " has been enabled successfully!");
     }
 
+    private void loadPlaceholderCache(YamlDocument config) {
+        // The quit listener also prunes caches configured later through setCacheTTL, so it is always registered
+        PlaceholderAPIIntegration.registerCache(this);
+        Section cache = ConfigUtils.getSection(config, "PLACEHOLDER-CACHE");
+        if (cache == null) {
+            return;
+        }
+        PlaceholderAPIIntegration.setMaxCacheEntries(cache.getInt("MAX-ENTRIES", 256));
+        Section ttls = cache.getSection("TTL");
+        if (ttls != null) {
+            for (String identifier : ttls.getRoutesAsStrings(false)) {
+                PlaceholderAPIIntegration.setCacheTTL(identifier, ttls.getLong(identifier, 0L));
+            }
+        }
+        for (String identifier : cache.getStringList("GLOBAL", Collections.emptyList())) {
+            PlaceholderAPIIntegration.setGlobal(identifier, true);
+        }
+        for (String identifier : cache.getStringList("THREAD-SAFE", Collections.emptyList())) {
+            PlaceholderAPIIntegration.setThreadSafe(identifier, true);
+        }
+    }
+
     @Override
     public void onDisable() {
+        AsyncCommandExecutor.shutdown();
+        MessageCoalescer.stop();
         String version = getDescription().getVersion();
         ChatUtils.send(Level.INFO, "DeltaLib v" + version + " has been disabled successfully.");
+        ChatUtils.shutdown();
     }
 }
@@ -0,0 +1,258 @@
+package dev.deltamc.deltalib.builders;
+
+import dev.dejvokep.boostedyaml.YamlDocument;
+import dev.dejvokep.boostedyaml.block.implementation.Section;
+import dev.deltamc.deltalib.utils.chat.ChatUtils;
+import dev.deltamc.deltalib.utils.config.ConfigUtils;
+import dev.deltamc.deltalib.utils.item.ItemUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+// Menu declared in a YAML file, compiled once into a GUITemplate and recompiled only when the file changes
+public class ConfigGUI {
+
+    private static final Map<String, ConfigGUI> MENUS = new ConcurrentHashMap<>();
+    private static BukkitTask watcher;
+    private static Plugin watcherOwner;
+
+    private final JavaPlugin plugin;
+    private final String fileName;
+    private final File file;
+    private final YamlDocument config;
+    private final Map<String, Consumer<InventoryClickEvent>> actions = new ConcurrentHashMap<>();
+    private final AtomicReference<GUITemplate> template = new AtomicReference<>();
+    private volatile long lastModified;
+
+    private ConfigGUI(JavaPlugin plugin, String fileName, YamlDocument config) {
+        this.plugin = plugin;
+        this.fileName = fileName;
+        this.file = new File(plugin.getDataFolder(), fileName);
+        this.config = config;
+        this.lastModified = file.lastModified();
+        this.template.set(compile());
+    }
+
+    public static Optional<ConfigGUI> load(JavaPlugin plugin, String fileName) {
+        String key = plugin.getName() + ":" + fileName;
+        ConfigGUI menu = MENUS.get(key);
+        if (menu != null) {
+            return Optional.of(menu);
+        }
+
+        YamlDocument config = ConfigUtils.createConfig(plugin, fileName);
+        if (config == null) {
+            return Optional.empty();
+        }
+        return Optional.of(MENUS.computeIfAbsent(key, k -> new ConfigGUI(plugin, fileName, config)));
+    }
+
+    public static Optional<ConfigGUI> get(JavaPlugin plugin, String fileName) {
+        return Optional.ofNullable(MENUS.get(plugin.getName() + ":" + fileName));
+    }
+
+    // Polls every loaded menu file and recompiles the ones that changed on disk
+    public static synchronized void watch(JavaPlugin plugin, long periodTicks) {
+        if (watcher != null) {
+            return;
+        }
+        watcherOwner = plugin;
+        watcher = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            for (ConfigGUI menu : MENUS.values()) {
+                if (menu.file.lastModified() != menu.lastModified) {
+                    menu.reload();
+                }
+            }
+        }, periodTicks, periodTicks);
+    }
+
+    public static synchronized void unwatch() {
+        if (watcher != null) {
+            watcher.cancel();
+            watcher = null;
+            watcherOwner = null;
+        }
+    }
+
+    // Drops the menus of a disabling plugin and closes them for anyone still viewing one
+    static void unload(Plugin owner) {
+        MENUS.values().removeIf(menu -> {
+            if (menu.plugin != owner) {
+                return false;
+            }
+            GUISessionRegistry.closeAll(menu.template.get());
+            return true;
+        });
+        synchronized (ConfigGUI.class) {
+            if (watcherOwner == owner) {
+                // Bukkit already cancelled the task with its plugin, forget it so another plugin can watch
+                watcher = null;
+                watcherOwner = null;
+            }
+        }
+    }
+
+    public static void reloadAll() {
+        MENUS.values().forEach(ConfigGUI::reload);
+    }
+
+    // Binds a named ACTION from the file to code, can be called before or after the menu is compiled
+    public ConfigGUI action(String name, Consumer<InventoryClickEvent> action) {
+        actions.put(name.toLowerCase(), action);
+        return this;
+    }
+
+    public GUISession open(Player player) {
+        return template.get().open(player);
+    }
+
+    public GUITemplate getTemplate() {
+        return template.get();
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public synchronized boolean reload() {
+        lastModified = file.lastModified();
+        try {
+            config.reload();
+        } catch (IOException e) {
+            ChatUtils.send(Level.SEVERE, "Failed to reload menu " + fileName + ": " + e.getMessage());
+            return false;
+        }
+        // Only the file is read here, ItemStacks are built on the main thread
+        if (Bukkit.isPrimaryThread()) {
+            return apply();
+        }
+        GUIBuilder.runSync(this::apply);
+        return true;
+    }
+
+    private synchronized boolean apply() {
+        GUITemplate next;
+        try {
+            next = compile();
+        } catch (RuntimeException e) {
+            // Keep serving the last good layout when the edited file is broken
+            ChatUtils.send(Level.SEVERE, "Failed to compile menu " + fileName + ": " + e.getMessage());
+            return false;
+        }
+        GUITemplate previous = template.getAndSet(next);
+        previous.replaceWith(next);
+        // An inventory cannot change its size or title and the ticker keeps the old interval, so those sessions reopen
+        if (previous.getSize() != next.getSize() || previous.getInventoryType() != next.getInventoryType()
+                || previous.getUpdateInterval() != next.getUpdateInterval() || !previous.getTitle().equals(next.getTitle())) {
+            GUISessionRegistry.reopenAll(next);
+        } else {
+            GUISessionRegistry.renderAll(next);
+        }
+        ChatUtils.send(Level.INFO, "Reloaded menu " + fileName);
+        return true;
+    }
+
+    private GUITemplate compile() {
+        String title = config.getString("TITLE", "");
+        String type = config.getString("TYPE", null);
+        GUIBuilder builder;
+        if (type != null) {
+            builder = new GUIBuilder(title, InventoryType.valueOf(type.toUpperCase()));
+        } else {
+            builder = new GUIBuilder(title, config.getInt("ROWS", 3) * 9);
+        }
+
+        String id = fileName.endsWith(".yml") ? fileName.substring(0, fileName.length() - 4) : fileName;
+        builder.setId(config.getString("ID", id))
+                .preventItemRemoval(config.getBoolean("PREVENT-ITEM-REMOVAL", true))
+                .setClickCooldown(config.getLong("CLICK-COOLDOWN", 0L))
+                .updateEvery(config.getInt("UPDATE-INTERVAL", 0));
+
+        Section items = config.getSection("ITEMS");
+        if (items != null) {
+            for (String key : items.getRoutesAsStrings(false)) {
+                Section section = items.getSection(key);
+                if (section != null) {
+                    compileItem(builder, key, section);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private void compileItem(GUIBuilder builder, String key, Section section) {
+        Material material = Material.matchMaterial(section.getString("MATERIAL", "STONE"));
+        if (material == null) {
+            ChatUtils.send(Level.WARNING, "Invalid material for item " + key + " in menu " + fileName);
+            return;
+        }
+
+        List<String> lore = new ArrayList<>();
+        for (String line : section.getStringList("LORE", Collections.emptyList())) {
+            lore.add(ChatColor.translateAlternateColorCodes('&', line));
+        }
+        ItemStack item = GUIBuilder.createItem(material, section.getString("NAME", ""));
+        item = ItemUtils.setLore(item, lore);
+        item.setAmount(Math.max(1, section.getInt("AMOUNT", 1)));
+
+        Consumer<InventoryClickEvent> action = compileAction(section);
+        List<Integer> slots = section.contains("SLOTS") ? section.getIntList("SLOTS")
+                : Collections.singletonList(section.getInt("SLOT", -1));
+        for (int slot : slots) {
+            if (slot < 0) {
+                ChatUtils.send(Level.WARNING, "Missing slot for item " + key + " in menu " + fileName);
+                continue;
+            }
+            if (action != null) {
+                builder.setItem(slot, item, action);
+            } else {
+                builder.setItem(slot, item);
+            }
+        }
+    }
+
+    private Consumer<InventoryClickEvent> compileAction(Section section) {
+        String name = section.getString("ACTION", null);
+        String command = section.getString("COMMAND", null);
+        boolean close = section.getBoolean("CLOSE", false);
+        if (name == null && command == null && !close) {
+            return null;
+        }
+
+        String actionName = name == null ? null : name.toLowerCase();
+        return event -> {
+            if (actionName != null) {
+                Consumer<InventoryClickEvent> action = actions.get(actionName);
+                if (action != null) {
+                    action.accept(event);
+                }
+            }
+            if (command != null && event.getWhoClicked() instanceof Player) {
+                ((Player) event.getWhoClicked()).performCommand(command);
+            }
+            if (close) {
+                // Closing inside the click event is unsafe, defer it to the next tick
+                Bukkit.getScheduler().runTask(plugin, () -> event.getWhoClicked().closeInventory());
+            }
+        };
+    }
+}
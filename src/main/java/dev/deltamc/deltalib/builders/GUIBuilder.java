@@ -4,35 +4,43 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryType;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
+import dev.deltamc.deltalib.utils.chat.ChatUtils;
 import dev.deltamc.deltalib.utils.item.ItemUtils;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
 
-public class GUIBuilder implements Listener {
+public class GUIBuilder {
 
     private final String title;
     private final InventoryType inventoryType;
     private int size;
     private final Map<Integer, Consumer<InventoryClickEvent>> actions;
     private final Map<Integer, ItemStack> items;
+    private final Map<Integer, Function<GUISession, ItemStack>> dynamicItems;
+    private int updateInterval;
+    private Function<Player, Map<Integer, ItemStack>> contentLoader;
+    private String id;
     private Consumer<InventoryCloseEvent> closeAction;
-    private final List<List<ItemStack>> pages;
-    private int currentPage;
+    private PageProvider pages;
+    private ItemStack loadingItem;
     private ItemStack nextPageItem;
     private ItemStack previousPageItem;
     private Consumer<InventoryClickEvent> nextPageAction;
     private Consumer<InventoryClickEvent> previousPageAction;
-    private static final Map<Player, GUIBuilder> activeGUIs = new HashMap<>();
     private boolean preventItemRemoval = false;
+    private long clickCooldown;
+    private GUITemplate template;
+    private static JavaPlugin plugin;
+    private static final AtomicBoolean INLINE_WARNED = new AtomicBoolean();
 
     public GUIBuilder(String title, int size) {
         this.title = ChatColor.translateAlternateColorCodes('&', title);
@@ -40,8 +48,7 @@ public class GUIBuilder implements Listener {
         this.inventoryType = null;
         this.actions = new HashMap<>();
         this.items = new HashMap<>();
-        this.pages = new ArrayList<>();
-        this.currentPage = 0;
+        this.dynamicItems = new HashMap<>();
     }
 
     public GUIBuilder(String title, InventoryType inventoryType) {
@@ -50,87 +57,132 @@ public class GUIBuilder implements Listener {
         this.size = inventoryType.getDefaultSize();
         this.actions = new HashMap<>();
         this.items = new HashMap<>();
-        this.pages = new ArrayList<>();
-        this.currentPage = 0;
+        this.dynamicItems = new HashMap<>();
     }
 
     public GUIBuilder preventItemRemoval(boolean prevent) {
         this.preventItemRemoval = prevent;
+        template = null;
+        return this;
+    }
+
+    // Minimum time between button clicks from the same viewer, faster clicks are cancelled
+    public GUIBuilder setClickCooldown(long millis) {
+        this.clickCooldown = Math.max(0, millis);
+        template = null;
         return this;
     }
 
     public GUIBuilder setItem(int slot, ItemStack item, Consumer<InventoryClickEvent> action) {
         items.put(slot, item);
         actions.put(slot, action);
+        template = null;
         return this;
     }
 
     public GUIBuilder setItem(int slot, ItemStack item) {
         items.put(slot, item);
+        template = null;
+        return this;
+    }
+
+    // Evaluated for each viewer on every render, so it can show per-player or time based content
+    public GUIBuilder setDynamicItem(int slot, Function<GUISession, ItemStack> item, Consumer<InventoryClickEvent> action) {
+        dynamicItems.put(slot, item);
+        actions.put(slot, action);
+        template = null;
+        return this;
+    }
+
+    public GUIBuilder setDynamicItem(int slot, Function<GUISession, ItemStack> item) {
+        dynamicItems.put(slot, item);
+        template = null;
+        return this;
+    }
+
+    // Computed off the main thread after the menu opens, the result is placed into the inventory in one step
+    public GUIBuilder setContent(Function<Player, Map<Integer, ItemStack>> loader) {
+        this.contentLoader = loader;
+        template = null;
+        return this;
+    }
+
+    // Name used for metrics, menus without one are not recorded so per-player titles cannot grow GUIMetrics
+    public GUIBuilder setId(String id) {
+        this.id = id;
+        template = null;
+        return this;
+    }
+
+    // Re-renders open sessions every given number of ticks through the shared GUITicker
+    public GUIBuilder updateEvery(int ticks) {
+        this.updateInterval = Math.max(0, ticks);
+        template = null;
         return this;
     }
 
     public GUIBuilder onClose(Consumer<InventoryCloseEvent> action) {
         this.closeAction = action;
+        template = null;
         return this;
     }
 
-    public void open(Player player) {
-        Inventory inventory = createInventory();
-        player.openInventory(inventory);
-        activeGUIs.put(player, this);
-    }
-
-    private Inventory createInventory() {
-        Inventory inventory = (inventoryType == null) ? Bukkit.createInventory(null, size, title) :
-                Bukkit.createInventory(null, inventoryType, title);
-        if (!pages.isEmpty()) {
-            displayPage(currentPage, inventory);
-        } else {
-            items.forEach(inventory::setItem);
+    // Compiles the current layout once, the result is shared by every viewer until the builder changes
+    public GUITemplate build() {
+        if (template == null) {
+            template = new GUITemplate(id, title, inventoryType, size, items, actions, dynamicItems, updateInterval, contentLoader, closeAction, pages,
+                    loadingItem, nextPageItem, previousPageItem, nextPageAction, previousPageAction, preventItemRemoval, clickCooldown);
         }
-        return inventory;
+        return template;
     }
 
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) return;
-
-        Player player = (Player) event.getWhoClicked();
-        GUIBuilder guiBuilder = activeGUIs.get(player);
-        if (guiBuilder == null || !event.getView().getTitle().equals(guiBuilder.title)) return;
+    public void open(Player player) {
+        build().open(player);
+    }
 
-        // Prevent item removal if enabled
-        if (guiBuilder.preventItemRemoval) {
-            event.setCancelled(true);
-        }
+    public GUISession openSession(Player player) {
+        return build().open(player);
+    }
 
-        Consumer<InventoryClickEvent> action = guiBuilder.actions.get(event.getSlot());
-        if (action != null) {
-            action.accept(event);
-        }
-        if (guiBuilder.pages.size() > 1) {
-            guiBuilder.handlePageChange(event);
+    // DeltaLib registers itself on enable, so calls from dependent plugins are no-ops while it is loaded
+    public static synchronized void register(JavaPlugin plugin) {
+        if (GUIBuilder.plugin != null) {
+            return;
         }
+        plugin.getServer().getPluginManager().registerEvents(new GUIListener(plugin), plugin);
+        GUIBuilder.plugin = plugin;
+        GUITicker.start(plugin);
     }
 
-    @EventHandler
-    public void onInventoryClose(InventoryCloseEvent event) {
-        if (!(event.getPlayer() instanceof Player)) return;
+    static synchronized void unregister() {
+        GUITicker.stop();
+        plugin = null;
+    }
 
-        Player player = (Player) event.getPlayer();
-        GUIBuilder guiBuilder = activeGUIs.get(player);
-        if (guiBuilder == null || !event.getView().getTitle().equals(guiBuilder.title)) return;
+    static JavaPlugin getPlugin() {
+        return plugin;
+    }
 
-        if (guiBuilder.closeAction != null) {
-            guiBuilder.closeAction.accept(event);
+    // Loaders run off the main thread through DeltaLib, without it they block the caller and that is worth one warning
+    static void runAsync(Runnable task) {
+        JavaPlugin owner = plugin;
+        if (owner != null && owner.isEnabled()) {
+            Bukkit.getScheduler().runTaskAsynchronously(owner, task);
+            return;
         }
-
-        activeGUIs.remove(player);
+        if (INLINE_WARNED.compareAndSet(false, true)) {
+            ChatUtils.send(Level.WARNING, "GUIBuilder is not registered, asynchronous menu loaders are running on the calling thread.");
+        }
+        task.run();
     }
 
-    public static void register(JavaPlugin plugin) {
-        plugin.getServer().getPluginManager().registerEvents(new GUIBuilder("", 0), plugin);
+    static void runSync(Runnable task) {
+        JavaPlugin owner = plugin;
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else if (owner != null && owner.isEnabled()) {
+            Bukkit.getScheduler().runTask(owner, task);
+        }
     }
 
     public static ItemStack createItem(Material material, String name, String... lore) {
@@ -140,47 +192,31 @@ public class GUIBuilder implements Listener {
     public GUIBuilder setSize(int size) {
         if (inventoryType == null) {
             this.size = size;
+            template = null;
         }
         return this;
     }
 
     public GUIBuilder paginate(List<ItemStack> items, int pageSize, ItemStack nextItem, ItemStack prevItem,
                                Consumer<InventoryClickEvent> nextAction, Consumer<InventoryClickEvent> prevAction) {
-        for (int i = 0; i < items.size(); i += pageSize) {
-            pages.add(items.subList(i, Math.min(i + pageSize, items.size())));
-        }
+        return paginate(PageProvider.of(items, pageSize), nextItem, prevItem, nextAction, prevAction);
+    }
+
+    public GUIBuilder paginate(PageProvider provider, ItemStack nextItem, ItemStack prevItem,
+                               Consumer<InventoryClickEvent> nextAction, Consumer<InventoryClickEvent> prevAction) {
+        this.pages = provider;
         this.nextPageItem = nextItem;
         this.previousPageItem = prevItem;
         this.nextPageAction = nextAction;
         this.previousPageAction = prevAction;
+        template = null;
         return this;
     }
 
-    private void handlePageChange(InventoryClickEvent event) {
-        if (event.getCurrentItem() != null) {
-            if (event.getCurrentItem().equals(nextPageItem) && currentPage < pages.size() - 1) {
-                currentPage++;
-                displayPage(currentPage, event.getInventory());
-                if (nextPageAction != null) nextPageAction.accept(event);
-            } else if (event.getCurrentItem().equals(previousPageItem) && currentPage > 0) {
-                currentPage--;
-                displayPage(currentPage, event.getInventory());
-                if (previousPageAction != null) previousPageAction.accept(event);
-            }
-        }
-    }
-
-    private void displayPage(int page, Inventory inventory) {
-        inventory.clear();
-        List<ItemStack> pageItems = pages.get(page);
-        for (int i = 0; i < pageItems.size(); i++) {
-            inventory.setItem(i, pageItems.get(i));
-        }
-        if (page < pages.size() - 1) {
-            inventory.setItem(inventory.getSize() - 1, nextPageItem);
-        }
-        if (page > 0) {
-            inventory.setItem(inventory.getSize() - 2, previousPageItem);
-        }
+    // Shown in the middle of the menu while a page is still being fetched
+    public GUIBuilder setLoadingItem(ItemStack item) {
+        this.loadingItem = item;
+        template = null;
+        return this;
     }
 }
@@ -0,0 +1,27 @@
+package dev.deltamc.deltalib.builders;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+public class GUIHolder implements InventoryHolder {
+
+    private final GUISession session;
+    private Inventory inventory;
+
+    GUIHolder(GUISession session) {
+        this.session = session;
+    }
+
+    public GUISession getSession() {
+        return session;
+    }
+
+    void setInventory(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
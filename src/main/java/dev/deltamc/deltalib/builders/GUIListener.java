@@ -0,0 +1,62 @@
+package dev.deltamc.deltalib.builders;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.plugin.Plugin;
+
+class GUIListener implements Listener {
+
+    private final Plugin plugin;
+
+    GUIListener(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        InventoryHolder holder = event.getInventory().getHolder();
+        if (!(holder instanceof GUIHolder) || !(event.getWhoClicked() instanceof Player)) return;
+
+        ((GUIHolder) holder).getSession().handleClick(event);
+    }
+
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        InventoryHolder holder = event.getInventory().getHolder();
+        if (!(holder instanceof GUIHolder) || !(event.getWhoClicked() instanceof Player)) return;
+
+        ((GUIHolder) holder).getSession().handleDrag(event);
+    }
+
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        InventoryHolder holder = event.getInventory().getHolder();
+        if (!(holder instanceof GUIHolder) || !(event.getPlayer() instanceof Player)) return;
+
+        ((GUIHolder) holder).getSession().handleClose(event);
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        GUISessionRegistry.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        // The listener and ticker belong to DeltaLib, a dependent plugin disabling only drops its own config menus
+        if (event.getPlugin() == plugin) {
+            GUISessionRegistry.closeAll();
+            ConfigGUI.unwatch();
+            GUIBuilder.unregister();
+        } else {
+            ConfigGUI.unload(event.getPlugin());
+        }
+    }
+}
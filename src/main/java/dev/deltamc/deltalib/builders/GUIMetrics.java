@@ -0,0 +1,70 @@
+package dev.deltamc.deltalib.builders;
+
+import dev.deltamc.deltalib.analytics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class GUIMetrics {
+
+    private static final Map<String, GUIMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final LatencyHistogram openLatency = new LatencyHistogram();
+    private final LatencyHistogram buildTime = new LatencyHistogram();
+
+    private GUIMetrics(String name) {
+        this.name = name;
+    }
+
+    static GUIMetrics of(String name) {
+        return METRICS.computeIfAbsent(name.toLowerCase(), GUIMetrics::new);
+    }
+
+    public static Optional<GUIMetrics> get(String name) {
+        return Optional.ofNullable(METRICS.get(name.toLowerCase()));
+    }
+
+    public static Collection<GUIMetrics> getAll() {
+        return Collections.unmodifiableCollection(METRICS.values());
+    }
+
+    public static List<GUIMetrics> getTop(int limit) {
+        List<GUIMetrics> sorted = new ArrayList<>(METRICS.values());
+        sorted.sort(Comparator.comparingLong(GUIMetrics::getOpens).reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    public static void resetAll() {
+        METRICS.values().forEach(GUIMetrics::reset);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getOpens() {
+        return openLatency.getCount();
+    }
+
+    // Time from open() until the viewer sees the finished contents
+    public LatencyHistogram getOpenLatency() {
+        return openLatency;
+    }
+
+    // Time spent computing content off the main thread
+    public LatencyHistogram getBuildTime() {
+        return buildTime;
+    }
+
+    public void reset() {
+        openLatency.reset();
+        buildTime.reset();
+    }
+}
@@ -0,0 +1,332 @@
+package dev.deltamc.deltalib.builders;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import dev.deltamc.deltalib.utils.chat.ChatUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+public class GUISession {
+
+    private GUITemplate template;
+    private final UUID viewer;
+    private final Map<String, Object> state = new HashMap<>();
+    private static final int CACHED_PAGES = 5;
+
+    private final Map<Integer, List<ItemStack>> pageCache = new LinkedHashMap<Integer, List<ItemStack>>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<ItemStack>> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+    private final Map<Integer, CompletableFuture<List<ItemStack>>> loading = new HashMap<>();
+    private Inventory inventory;
+    private ItemStack[] lastFrame;
+    private volatile ItemStack[] content;
+    private volatile Future<?> build;
+    private int buildGeneration;
+    private int page;
+    private long nextUpdate;
+    private long lastClick;
+    private boolean closed;
+
+    GUISession(GUITemplate template, UUID viewer) {
+        this.template = template;
+        this.viewer = viewer;
+    }
+
+    void attach(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    public void render() {
+        if (closed) {
+            return;
+        }
+        template = template.current();
+        ItemStack[] frame = template.frame(this, inventory.getSize());
+        ItemStack[] previous = lastFrame != null ? lastFrame : inventory.getContents();
+        for (int slot = 0; slot < frame.length; slot++) {
+            ItemStack item = frame[slot];
+            ItemStack current = slot < previous.length ? previous[slot] : null;
+            // Shared template items are the same instance across frames, so most slots stop at the identity check
+            if (item != current && (item == null || !item.equals(current))) {
+                inventory.setItem(slot, item);
+            }
+        }
+        lastFrame = frame;
+    }
+
+    boolean isDue(long tick) {
+        if (tick < nextUpdate) {
+            return false;
+        }
+        nextUpdate = tick + template.getUpdateInterval();
+        return true;
+    }
+
+    public boolean nextPage() {
+        return setPage(page + 1);
+    }
+
+    public boolean previousPage() {
+        return setPage(page - 1);
+    }
+
+    public boolean setPage(int page) {
+        if (page < 0 || page >= template.getPageCount() || page == this.page) {
+            return false;
+        }
+        this.page = page;
+        render();
+        return true;
+    }
+
+    // Returns the page if it is already available, otherwise starts loading it and returns null
+    List<ItemStack> getLoadedPage(int page) {
+        List<ItemStack> items = pageCache.get(page);
+        if (items == null) {
+            requestPage(page);
+            items = pageCache.get(page);
+        }
+        return items;
+    }
+
+    void prefetch(int page) {
+        requestPage(page + 1);
+        requestPage(page - 1);
+    }
+
+    private void requestPage(int page) {
+        PageProvider provider = template.getPageProvider();
+        if (closed || provider == null || page < 0 || page >= provider.getPageCount()
+                || pageCache.containsKey(page) || loading.containsKey(page)) {
+            return;
+        }
+
+        CompletableFuture<List<ItemStack>> future = provider.getPage(page);
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            pageCache.put(page, future.join());
+            return;
+        }
+
+        loading.put(page, future);
+        future.whenComplete((items, error) -> GUIBuilder.runSync(() -> {
+            loading.remove(page);
+            if (closed) {
+                return;
+            }
+            if (error != null) {
+                ChatUtils.send(Level.WARNING, "Failed to load page " + page + " of " + template.getTitle() + ": " + error.getMessage());
+                return;
+            }
+            pageCache.put(page, items);
+            if (page == this.page) {
+                render();
+            }
+        }));
+    }
+
+    // Runs the template's content loader off the main thread, superseding any build still in progress
+    void build(Player player, long openedAt) {
+        Future<?> previous = build;
+        if (previous != null) {
+            previous.cancel(true);
+        }
+
+        int generation = ++buildGeneration;
+        Function<Player, Map<Integer, ItemStack>> loader = template.getContentLoader();
+        GUIMetrics metrics = template.getMetrics();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            long start = System.nanoTime();
+            Map<Integer, ItemStack> items;
+            try {
+                items = loader.apply(player);
+            } catch (Exception e) {
+                ChatUtils.send(Level.WARNING, "Failed to build contents of " + (template.getId() != null ? template.getId() : template.getTitle()) + ": " + e.getMessage());
+                // Drop the loading item and fall back to the static layout
+                GUIBuilder.runSync(() -> {
+                    if (closed || generation != buildGeneration) {
+                        return;
+                    }
+                    build = null;
+                    render();
+                });
+                return null;
+            }
+            if (metrics != null) {
+                metrics.getBuildTime().record(System.nanoTime() - start);
+            }
+
+            ItemStack[] built = new ItemStack[inventory.getSize()];
+            items.forEach((slot, item) -> {
+                if (slot >= 0 && slot < built.length) {
+                    built[slot] = item;
+                }
+            });
+            GUIBuilder.runSync(() -> {
+                // A newer build or a close since this one started means the result is stale
+                if (closed || generation != buildGeneration) {
+                    return;
+                }
+                content = built;
+                build = null;
+                render();
+                if (metrics != null) {
+                    metrics.getOpenLatency().record(System.nanoTime() - openedAt);
+                }
+            });
+            return null;
+        });
+        build = task;
+
+        GUIBuilder.runAsync(task);
+    }
+
+    public void rebuild() {
+        Player player = Bukkit.getPlayer(viewer);
+        if (player != null && template.getContentLoader() != null && !closed) {
+            build(player, System.nanoTime());
+        }
+    }
+
+    ItemStack[] getContent() {
+        return content;
+    }
+
+    public boolean isBuilding() {
+        return build != null;
+    }
+
+    void close() {
+        closed = true;
+        buildGeneration++;
+        Future<?> pending = build;
+        if (pending != null) {
+            pending.cancel(true);
+            build = null;
+        }
+        loading.clear();
+        pageCache.clear();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void handleClick(InventoryClickEvent event) {
+        // Prevent item removal if enabled
+        if (template.isPreventItemRemoval()) {
+            event.setCancelled(true);
+        }
+
+        int slot = event.getRawSlot();
+        if (slot >= 0 && slot < inventory.getSize()) {
+            int pageCount = template.getPageCount();
+            boolean next = pageCount > 1 && slot == inventory.getSize() - 1 && page < pageCount - 1;
+            boolean previous = pageCount > 1 && slot == inventory.getSize() - 2 && page > 0;
+            Consumer<InventoryClickEvent> action = template.getAction(slot);
+            if ((next || previous || action != null) && !acquireClick()) {
+                event.setCancelled(true);
+                return;
+            }
+
+            if (next) {
+                nextPage();
+                if (template.getNextPageAction() != null) template.getNextPageAction().accept(event);
+            } else if (previous) {
+                previousPage();
+                if (template.getPreviousPageAction() != null) template.getPreviousPageAction().accept(event);
+            } else if (action != null) {
+                action.accept(event);
+            }
+        }
+        // The client may have moved items around, so diff against the real contents on the next render
+        if (!event.isCancelled()) {
+            lastFrame = null;
+        }
+    }
+
+    void handleDrag(InventoryDragEvent event) {
+        boolean touchesMenu = false;
+        for (int slot : event.getRawSlots()) {
+            if (slot < inventory.getSize()) {
+                touchesMenu = true;
+                break;
+            }
+        }
+        if (!touchesMenu) {
+            return;
+        }
+
+        if (template.isPreventItemRemoval()) {
+            event.setCancelled(true);
+        } else {
+            lastFrame = null;
+        }
+    }
+
+    // Rejects clicks on buttons that arrive faster than the template's click cooldown
+    private boolean acquireClick() {
+        long cooldown = template.getClickCooldownNanos();
+        if (cooldown <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (lastClick != 0 && now - lastClick < cooldown) {
+            return false;
+        }
+        lastClick = now;
+        return true;
+    }
+
+    void handleClose(InventoryCloseEvent event) {
+        if (template.getCloseAction() != null) {
+            template.getCloseAction().accept(event);
+        }
+
+        close();
+        GUISessionRegistry.remove(viewer, this);
+    }
+
+    public GUITemplate getTemplate() {
+        return template;
+    }
+
+    public UUID getViewer() {
+        return viewer;
+    }
+
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        return (T) state.get(key);
+    }
+
+    public void set(String key, Object value) {
+        state.put(key, value);
+    }
+}
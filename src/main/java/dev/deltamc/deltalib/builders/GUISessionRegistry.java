@@ -0,0 +1,94 @@
+package dev.deltamc.deltalib.builders;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class GUISessionRegistry {
+
+    private static final Map<UUID, GUISession> SESSIONS = new ConcurrentHashMap<>();
+
+    static void put(UUID uuid, GUISession session) {
+        GUISession previous = SESSIONS.put(uuid, session);
+        if (previous != null && previous != session) {
+            previous.close();
+        }
+    }
+
+    static boolean remove(UUID uuid, GUISession session) {
+        return SESSIONS.remove(uuid, session);
+    }
+
+    static void remove(UUID uuid) {
+        GUISession session = SESSIONS.remove(uuid);
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    public static Optional<GUISession> get(UUID uuid) {
+        return Optional.ofNullable(SESSIONS.get(uuid));
+    }
+
+    public static boolean hasSession(UUID uuid) {
+        return SESSIONS.containsKey(uuid);
+    }
+
+    public static int size() {
+        return SESSIONS.size();
+    }
+
+    // Sessions still on an older version of the template follow it to the latest one
+    static void renderAll(GUITemplate template) {
+        for (GUISession session : SESSIONS.values()) {
+            if (session.getTemplate().current() == template) {
+                session.render();
+            }
+        }
+    }
+
+    static void reopenAll(GUITemplate template) {
+        for (Map.Entry<UUID, GUISession> entry : SESSIONS.entrySet()) {
+            if (entry.getValue().getTemplate().current() != template) {
+                continue;
+            }
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player != null) {
+                template.open(player);
+            }
+        }
+    }
+
+    // Closes every open menu, used when DeltaLib disables
+    public static void closeAll() {
+        for (UUID uuid : SESSIONS.keySet()) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null && player.getOpenInventory().getTopInventory().getHolder() instanceof GUIHolder) {
+                player.closeInventory();
+            }
+        }
+        SESSIONS.values().forEach(GUISession::close);
+        SESSIONS.clear();
+    }
+
+    // Closes only the menus showing the given template, used when the plugin that owns it disables
+    static void closeAll(GUITemplate template) {
+        for (Map.Entry<UUID, GUISession> entry : SESSIONS.entrySet()) {
+            GUISession session = entry.getValue();
+            if (session.getTemplate().current() != template.current()) {
+                continue;
+            }
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player != null && player.getOpenInventory().getTopInventory().getHolder() == session.getInventory().getHolder()) {
+                player.closeInventory();
+            }
+            if (SESSIONS.remove(entry.getKey(), session)) {
+                session.close();
+            }
+        }
+    }
+}
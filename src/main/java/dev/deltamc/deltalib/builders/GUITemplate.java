@@ -0,0 +1,236 @@
+package dev.deltamc.deltalib.builders;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class GUITemplate {
+
+    private final String id;
+    private final String title;
+    private final InventoryType inventoryType;
+    private final int size;
+    private final ItemStack[] items;
+    private final Consumer<InventoryClickEvent>[] actions;
+    private final Function<GUISession, ItemStack>[] dynamicItems;
+    private final int updateInterval;
+    private final Function<Player, Map<Integer, ItemStack>> contentLoader;
+    private final GUIMetrics metrics;
+    private final Consumer<InventoryCloseEvent> closeAction;
+    private final PageProvider pages;
+    private final ItemStack loadingItem;
+    private final ItemStack nextPageItem;
+    private final ItemStack previousPageItem;
+    private final Consumer<InventoryClickEvent> nextPageAction;
+    private final Consumer<InventoryClickEvent> previousPageAction;
+    private final boolean preventItemRemoval;
+    private final long clickCooldownNanos;
+    private volatile GUITemplate replacement;
+
+    @SuppressWarnings("unchecked")
+    GUITemplate(String id, String title, InventoryType inventoryType, int size, Map<Integer, ItemStack> items,
+                Map<Integer, Consumer<InventoryClickEvent>> actions, Map<Integer, Function<GUISession, ItemStack>> dynamicItems,
+                int updateInterval, Function<Player, Map<Integer, ItemStack>> contentLoader, Consumer<InventoryCloseEvent> closeAction,
+                PageProvider pages, ItemStack loadingItem, ItemStack nextPageItem, ItemStack previousPageItem,
+                Consumer<InventoryClickEvent> nextPageAction, Consumer<InventoryClickEvent> previousPageAction,
+                boolean preventItemRemoval, long clickCooldownMillis) {
+        this.id = id;
+        this.title = title;
+        this.inventoryType = inventoryType;
+        this.size = size;
+        this.items = new ItemStack[size];
+        this.actions = new Consumer[size];
+        items.forEach((slot, item) -> {
+            if (slot >= 0 && slot < size) {
+                this.items[slot] = copy(item);
+            }
+        });
+        actions.forEach((slot, action) -> {
+            if (slot >= 0 && slot < size) {
+                this.actions[slot] = action;
+            }
+        });
+        if (dynamicItems.isEmpty()) {
+            this.dynamicItems = null;
+        } else {
+            this.dynamicItems = new Function[size];
+            dynamicItems.forEach((slot, supplier) -> {
+                if (slot >= 0 && slot < size) {
+                    this.dynamicItems[slot] = supplier;
+                }
+            });
+        }
+        this.updateInterval = updateInterval;
+        this.contentLoader = contentLoader;
+        this.metrics = id != null ? GUIMetrics.of(id) : null;
+        this.closeAction = closeAction;
+        this.pages = pages;
+        this.loadingItem = copy(loadingItem);
+        this.nextPageItem = copy(nextPageItem);
+        this.previousPageItem = copy(previousPageItem);
+        this.nextPageAction = nextPageAction;
+        this.previousPageAction = previousPageAction;
+        this.preventItemRemoval = preventItemRemoval;
+        this.clickCooldownNanos = TimeUnit.MILLISECONDS.toNanos(clickCooldownMillis);
+    }
+
+    // Items are copied once here and then shared by every session as read-only flyweights
+    private static ItemStack copy(ItemStack item) {
+        return item == null ? null : item.clone();
+    }
+
+    public GUISession open(Player player) {
+        long start = System.nanoTime();
+        GUISession session = new GUISession(this, player.getUniqueId());
+        GUIHolder holder = new GUIHolder(session);
+        Inventory inventory = (inventoryType == null) ? Bukkit.createInventory(holder, size, title) :
+                Bukkit.createInventory(holder, inventoryType, title);
+        holder.setInventory(inventory);
+        session.attach(inventory);
+        if (contentLoader != null) {
+            session.build(player, start);
+        }
+        session.render();
+
+        player.openInventory(inventory);
+        GUISessionRegistry.put(player.getUniqueId(), session);
+        if (updateInterval > 0) {
+            GUITicker.track(session);
+        }
+        if (contentLoader == null && metrics != null) {
+            metrics.getOpenLatency().record(System.nanoTime() - start);
+        }
+        return session;
+    }
+
+    // Builds the full contents for the session's current state, the session then pushes only the slots that changed
+    ItemStack[] frame(GUISession session, int length) {
+        ItemStack[] frame = new ItemStack[length];
+        // Paged menus only show the page and its navigation, as they always have
+        if (pages != null) {
+            return pageFrame(session, frame, length);
+        }
+        System.arraycopy(items, 0, frame, 0, Math.min(items.length, length));
+        if (dynamicItems != null) {
+            for (int slot = 0; slot < dynamicItems.length && slot < length; slot++) {
+                if (dynamicItems[slot] != null) {
+                    frame[slot] = dynamicItems[slot].apply(session);
+                }
+            }
+        }
+        ItemStack[] content = session.getContent();
+        if (content != null) {
+            for (int slot = 0; slot < content.length && slot < length; slot++) {
+                if (content[slot] != null) {
+                    frame[slot] = content[slot];
+                }
+            }
+        } else if (session.isBuilding() && loadingItem != null) {
+            frame[length / 2] = loadingItem;
+        }
+        return frame;
+    }
+
+    private ItemStack[] pageFrame(GUISession session, ItemStack[] frame, int length) {
+        int page = session.getPage();
+        List<ItemStack> pageItems = session.getLoadedPage(page);
+        if (pageItems != null) {
+            for (int i = 0; i < pageItems.size() && i < length; i++) {
+                frame[i] = pageItems.get(i);
+            }
+        } else if (loadingItem != null) {
+            frame[length / 2] = loadingItem;
+        }
+        if (page < getPageCount() - 1) {
+            frame[length - 1] = nextPageItem;
+        }
+        if (page > 0) {
+            frame[length - 2] = previousPageItem;
+        }
+        session.prefetch(page);
+        return frame;
+    }
+
+    void replaceWith(GUITemplate next) {
+        this.replacement = next;
+    }
+
+    // Follows reloads so sessions opened on an older version pick up the newest layout
+    GUITemplate current() {
+        GUITemplate current = this;
+        while (current.replacement != null) {
+            current = current.replacement;
+        }
+        return current;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    InventoryType getInventoryType() {
+        return inventoryType;
+    }
+
+    public int getPageCount() {
+        return pages == null ? 0 : pages.getPageCount();
+    }
+
+    PageProvider getPageProvider() {
+        return pages;
+    }
+
+    public int getUpdateInterval() {
+        return updateInterval;
+    }
+
+    public boolean isPreventItemRemoval() {
+        return preventItemRemoval;
+    }
+
+    Function<Player, Map<Integer, ItemStack>> getContentLoader() {
+        return contentLoader;
+    }
+
+    GUIMetrics getMetrics() {
+        return metrics;
+    }
+
+    long getClickCooldownNanos() {
+        return clickCooldownNanos;
+    }
+
+    Consumer<InventoryClickEvent> getAction(int slot) {
+        return slot >= 0 && slot < actions.length ? actions[slot] : null;
+    }
+
+    Consumer<InventoryCloseEvent> getCloseAction() {
+        return closeAction;
+    }
+
+    Consumer<InventoryClickEvent> getNextPageAction() {
+        return nextPageAction;
+    }
+
+    Consumer<InventoryClickEvent> getPreviousPageAction() {
+        return previousPageAction;
+    }
+}
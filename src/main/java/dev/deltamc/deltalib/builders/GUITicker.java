@@ -0,0 +1,66 @@
+package dev.deltamc.deltalib.builders;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+// One repeating task refreshes every live menu, spreading the work over several ticks when it runs over budget
+public final class GUITicker {
+
+    private static final Deque<GUISession> SESSIONS = new ArrayDeque<>();
+    private static long budgetNanos = TimeUnit.MILLISECONDS.toNanos(2);
+    private static BukkitTask task;
+    private static long tick;
+
+    private GUITicker() {
+    }
+
+    static void start(Plugin plugin) {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, GUITicker::run, 1L, 1L);
+        }
+    }
+
+    static void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        SESSIONS.clear();
+    }
+
+    static void track(GUISession session) {
+        SESSIONS.addLast(session);
+    }
+
+    public static void setBudget(long duration, TimeUnit unit) {
+        budgetNanos = unit.toNanos(duration);
+    }
+
+    public static int size() {
+        return SESSIONS.size();
+    }
+
+    private static void run() {
+        tick++;
+        long deadline = System.nanoTime() + budgetNanos;
+        // Sessions are rotated to the back as they are visited, so whatever is left over starts the next tick
+        for (int remaining = SESSIONS.size(); remaining > 0; remaining--) {
+            if (System.nanoTime() - deadline > 0) {
+                break;
+            }
+            GUISession session = SESSIONS.pollFirst();
+            if (session.isClosed()) {
+                continue;
+            }
+            if (session.isDue(tick)) {
+                session.render();
+            }
+            SESSIONS.addLast(session);
+        }
+    }
+}
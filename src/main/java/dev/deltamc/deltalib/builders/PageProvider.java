@@ -0,0 +1,68 @@
+package dev.deltamc.deltalib.builders;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+public interface PageProvider {
+
+    int getPageCount();
+
+    // May complete on any thread, sessions hop back to the main thread before touching the inventory
+    CompletableFuture<List<ItemStack>> getPage(int page);
+
+    static PageProvider of(List<ItemStack> items, int pageSize) {
+        List<List<ItemStack>> pages = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += pageSize) {
+            ItemStack[] page = new ItemStack[Math.min(pageSize, items.size() - i)];
+            for (int j = 0; j < page.length; j++) {
+                ItemStack item = items.get(i + j);
+                page[j] = item == null ? null : item.clone();
+            }
+            pages.add(Collections.unmodifiableList(Arrays.asList(page)));
+        }
+
+        return new PageProvider() {
+            @Override
+            public int getPageCount() {
+                return pages.size();
+            }
+
+            @Override
+            public CompletableFuture<List<ItemStack>> getPage(int page) {
+                return CompletableFuture.completedFuture(pages.get(page));
+            }
+        };
+    }
+
+    // Runs the loader on the scheduler's async pool, suitable for database backed listings
+    static PageProvider async(IntSupplier pageCount, IntFunction<List<ItemStack>> loader) {
+        return new PageProvider() {
+            @Override
+            public int getPageCount() {
+                return pageCount.getAsInt();
+            }
+
+            @Override
+            public CompletableFuture<List<ItemStack>> getPage(int page) {
+                CompletableFuture<List<ItemStack>> future = new CompletableFuture<>();
+                Runnable task = () -> {
+                    try {
+                        future.complete(loader.apply(page));
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                };
+
+                GUIBuilder.runAsync(task);
+                return future;
+            }
+        };
+    }
+}
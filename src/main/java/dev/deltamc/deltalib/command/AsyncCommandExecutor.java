@@ -0,0 +1,178 @@
+package dev.deltamc.deltalib.command;
+
+import dev.deltamc.deltalib.utils.chat.ChatUtils;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+public class AsyncCommandExecutor {
+
+    public enum Submission {
+        ACCEPTED,
+        SENDER_BUSY,
+        OVERLOADED
+    }
+
+    private static final int MAX_PENDING_PER_SENDER = 1;
+    private static final int QUEUE_CAPACITY = 256;
+
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    private static final ThreadPoolExecutor WORKERS = new ThreadPoolExecutor(
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+            30L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "DeltaLib Command Worker #" + THREAD_ID.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    private static final ScheduledExecutorService TIMEOUTS = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DeltaLib Command Timeouts");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ConcurrentHashMap<Object, SenderQueue> QUEUES = new ConcurrentHashMap<>();
+
+    static {
+        WORKERS.allowCoreThreadTimeOut(true);
+    }
+
+    public static Submission submit(CommandSender sender, Runnable task, long timeoutMillis, Runnable onTimeout) {
+        Object key = sender instanceof Player ? ((Player) sender).getUniqueId() : sender.getName();
+        while (true) {
+            SenderQueue queue = QUEUES.computeIfAbsent(key, SenderQueue::new);
+            Submission submission = queue.offer(new Execution(task, timeoutMillis, onTimeout));
+            if (submission != null) {
+                return submission;
+            }
+            // The queue retired itself between lookup and offer, try with a fresh one
+        }
+    }
+
+    public static void shutdown() {
+        WORKERS.shutdownNow();
+        TIMEOUTS.shutdownNow();
+        QUEUES.clear();
+    }
+
+    private static final class Execution {
+        private final Runnable task;
+        private final long timeoutMillis;
+        private final Runnable onTimeout;
+
+        private Execution(Runnable task, long timeoutMillis, Runnable onTimeout) {
+            this.task = task;
+            this.timeoutMillis = timeoutMillis;
+            this.onTimeout = onTimeout;
+        }
+    }
+
+    // Runs one execution per sender at a time so a single sender cannot occupy the whole pool
+    private static final class SenderQueue {
+
+        private final Object key;
+        private final Queue<Execution> pending = new ArrayDeque<>();
+        private boolean running;
+        private boolean retired;
+
+        private SenderQueue(Object key) {
+            this.key = key;
+        }
+
+        private synchronized Submission offer(Execution execution) {
+            if (retired) {
+                return null;
+            }
+            if (!running) {
+                if (!start(execution)) {
+                    retire();
+                    return Submission.OVERLOADED;
+                }
+                return Submission.ACCEPTED;
+            }
+            if (pending.size() >= MAX_PENDING_PER_SENDER) {
+                return Submission.SENDER_BUSY;
+            }
+            pending.add(execution);
+            return Submission.ACCEPTED;
+        }
+
+        private boolean start(Execution execution) {
+            ScheduledFuture<?>[] timeout = new ScheduledFuture<?>[1];
+            // Whoever claims first releases the slot: the task body once it exits, or done() if it was cancelled before starting
+            AtomicBoolean claimed = new AtomicBoolean();
+            Runnable release = () -> {
+                if (timeout[0] != null) {
+                    timeout[0].cancel(false);
+                }
+                next();
+            };
+            FutureTask<Void> future = new FutureTask<Void>(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    execution.task.run();
+                } finally {
+                    release.run();
+                }
+            }, null) {
+                @Override
+                protected void done() {
+                    if (isCancelled() && claimed.compareAndSet(false, true)) {
+                        release.run();
+                    }
+                }
+            };
+
+            try {
+                running = true;
+                WORKERS.execute(future);
+            } catch (RejectedExecutionException e) {
+                running = false;
+                ChatUtils.send(Level.WARNING, "Async command pool is saturated, rejecting command execution.");
+                return false;
+            }
+
+            if (execution.timeoutMillis > 0) {
+                timeout[0] = TIMEOUTS.schedule(() -> {
+                    if (future.cancel(true) && execution.onTimeout != null) {
+                        execution.onTimeout.run();
+                    }
+                }, execution.timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        }
+
+        private synchronized void next() {
+            running = false;
+            Execution execution;
+            while ((execution = pending.poll()) != null) {
+                if (start(execution)) {
+                    return;
+                }
+            }
+            retire();
+        }
+
+        private void retire() {
+            retired = true;
+            QUEUES.remove(key, this);
+        }
+    }
+}
@@ -1,64 +1,108 @@
 package dev.deltamc.deltalib.command;
 
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.command.*;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.plugin.SimplePluginManager;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import dev.deltamc.deltalib.utils.chat.ChatUtils;
+import dev.deltamc.deltalib.utils.chat.MessageCatalog;
 import dev.deltamc.deltalib.utils.config.ConfigUtils;
+import dev.deltamc.deltalib.utils.server.TimeUtils;
 import dev.dejvokep.boostedyaml.YamlDocument;
+import dev.deltamc.deltalib.command.completion.Completions;
+import dev.deltamc.deltalib.command.completion.TabCompletionEngine;
 import dev.deltamc.deltalib.command.permission.PermissionManager;
 import dev.deltamc.deltalib.command.permission.PermissionManagerFactory;
+import dev.deltamc.deltalib.command.tree.CommandNode;
+import dev.deltamc.deltalib.command.tree.CommandTree;
+import dev.deltamc.deltalib.command.tree.SubcommandExecutor;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Level;
 
 public abstract class CommandHandler implements CommandExecutor, TabCompleter {
 
     private final String name;
+    private final JavaPlugin plugin;
     private Optional<String> description = Optional.empty();
     private Optional<List<String>> aliases = Optional.empty();
     private Optional<String> permission = Optional.empty();
-    private YamlDocument config;
+    private final YamlDocument config;
+    private final MessageCatalog messages;
 
-    private static CommandMap commandMap;
     private static final String CONFIG_FILENAME = "settings.yml";
+    private static final Map<String, List<CommandHandler>> PREPARED = new ConcurrentHashMap<>();
 
     private final PermissionManager permissionManager;
+    private final List<CommandNode> subcommands = new ArrayList<>();
+    private CommandTree commandTree;
+    private SubcommandExecutor defaultExecutor;
+    private String defaultPermission;
+    private final TabCompletionEngine completions = new TabCompletionEngine();
+    private boolean async = false;
+    private long asyncTimeout = 10000L;
+    private long cooldown = 0L;
+    private int rateLimitTokens = 0;
+    private long rateLimitPeriod = 0L;
+    private Optional<String> bypassPermission = Optional.empty();
+    private Optional<String> throttleBypass = Optional.empty();
+    private CommandThrottle throttle;
+    private final CommandMetrics metrics;
 
     public CommandHandler(String name, JavaPlugin plugin) {
         this.name = name;
-        this.config = ConfigUtils.createConfig(plugin, CONFIG_FILENAME);
+        this.plugin = plugin;
+        this.messages = MessageCatalog.of(plugin, CONFIG_FILENAME);
+        this.config = messages.getConfig();
 
         this.permissionManager = PermissionManagerFactory.getPermissionManager();
+        this.metrics = CommandMetrics.of(name);
 
-        try {
-            if (commandMap == null) {
-                Field field = SimplePluginManager.class.getDeclaredField("commandMap");
-                field.setAccessible(true);
-                commandMap = (CommandMap) field.get(Bukkit.getPluginManager());
-            }
-        } catch (Exception e) {
-            ChatUtils.send(Level.SEVERE, "Failed to initialize commandMap for plugin: " + plugin.getName());
-        }
-
-        if (commandMap == null) {
+        if (CommandRegistrar.getCommandMap() == null) {
             ChatUtils.send(Level.WARNING, "CommandMap is null for " + plugin.getName() + ". Command registration will fail.");
         }
     }
 
     public void register() {
-        PluginCommand command = getCommand(name);
+        PluginCommand command = prepare();
+        CommandMap commandMap = CommandRegistrar.getCommandMap();
+        if (command != null && commandMap != null) {
+            CommandRegistrar.register(commandMap, command);
+        }
+    }
 
-        String permissionMessage = ConfigUtils.getString(config, "SERVER.NO-PERMISSION");
-        command.setPermissionMessage(ChatColor.translateAlternateColorCodes('&',
-                Optional.ofNullable(permissionMessage).orElse("You don't have permission to use this command.")));
+    public static void reloadSettings(JavaPlugin plugin) {
+        MessageCatalog.get(plugin, CONFIG_FILENAME).ifPresent(MessageCatalog::reload);
+        // Cooldowns and rate limits come from the same file, rebuild them alongside the messages
+        for (CommandHandler handler : PREPARED.getOrDefault(plugin.getName(), Collections.emptyList())) {
+            handler.loadThrottle();
+        }
+    }
+
+    PluginCommand prepare() {
+        PluginCommand command = CommandRegistrar.createCommand(name, plugin);
+        if (command == null) {
+            return null;
+        }
+        commandTree = subcommands.isEmpty() && defaultExecutor == null ? null
+                : CommandTree.compile(defaultPermission, defaultExecutor, subcommands);
+        completions.compile();
+        loadThrottle();
+        List<CommandHandler> prepared = PREPARED.computeIfAbsent(plugin.getName(), key -> new CopyOnWriteArrayList<>());
+        if (!prepared.contains(this)) {
+            prepared.add(this);
+        }
+
+        command.setPermissionMessage(messages.get("SERVER.NO-PERMISSION",
+                "You don't have permission to use this command.").render(null));
 
         permission.ifPresent(command::setPermission);
         command.setDescription(description.orElse("This is the default description!"));
@@ -66,50 +110,244 @@ public abstract class CommandHandler implements CommandExecutor, TabCompleter {
 
         command.setExecutor(this);
         command.setTabCompleter(this);
+        return command;
+    }
 
-        if (commandMap != null && !commandMap.register(name, command)) {
-            ChatUtils.send(Level.WARNING, "Command '" + name + "' already registered, unregistering and registering again.");
-            command.unregister(commandMap);
-            commandMap.register(name, command);
+    // Values set in code are the defaults, settings.yml overrides them and is read again on every reload
+    private void loadThrottle() {
+        long configuredCooldown = cooldown;
+        int configuredTokens = rateLimitTokens;
+        long configuredPeriod = rateLimitPeriod;
+        Optional<String> configuredBypass = bypassPermission;
+        if (config != null) {
+            String route = "COMMANDS." + name + ".";
+            configuredCooldown = readDuration(route + "COOLDOWN", configuredCooldown);
+            configuredTokens = config.getInt(route + "RATE-LIMIT.TOKENS", configuredTokens);
+            configuredPeriod = readDuration(route + "RATE-LIMIT.PER", configuredPeriod);
+            String bypass = ConfigUtils.getString(config, route + "BYPASS-PERMISSION", null);
+            if (bypass != null) {
+                configuredBypass = Optional.of(bypass);
+            }
+        }
+
+        if (throttle != null) {
+            throttle.close();
+        }
+        throttleBypass = configuredBypass;
+        CommandThrottle loaded = new CommandThrottle(configuredCooldown, configuredTokens, configuredPeriod);
+        if (loaded.isEnabled()) {
+            throttle = loaded;
+        } else {
+            loaded.close();
+            throttle = null;
         }
     }
 
-    private PluginCommand getCommand(String name) {
+    private long readDuration(String path, long def) {
+        String value = ConfigUtils.getString(config, path, null);
+        if (value == null) {
+            return def;
+        }
         try {
-            Constructor<PluginCommand> constructor = PluginCommand.class.getDeclaredConstructor(String.class, Plugin.class);
-            constructor.setAccessible(true);
-            return constructor.newInstance(name, JavaPlugin.getProvidingPlugin(getClass()));
-        } catch (Exception e) {
-            ChatUtils.send(Level.SEVERE, "Failed to create PluginCommand for " + name);
+            return TimeUtils.convertToMilliseconds(value);
+        } catch (IllegalArgumentException e) {
+            ChatUtils.send(Level.WARNING, "Invalid duration '" + value + "' at " + path + " in " + CONFIG_FILENAME);
+            return def;
         }
-        return null;
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (permission.isPresent() && !permissionManager.hasPermission(sender, permission.get())) {
-            String permissionMessage = ConfigUtils.getString(config, "SERVER.NO-PERMISSION");
-            sender.sendMessage(ChatColor.translateAlternateColorCodes('&',
-                    Optional.ofNullable(permissionMessage).orElse("You don't have permission to use this command.")));
+            if (CommandMetrics.isEnabled()) {
+                metrics.recordDenied();
+            }
+            sendNoPermission(sender);
             return true;
         }
 
-        return handleCommand(sender, command, label, args);
+        // Permissions are resolved on the main thread before the throttle, so a denied invocation costs no token
+        SubcommandExecutor executor = null;
+        if (commandTree != null) {
+            CommandTree.Match match = commandTree.resolve(sender, args, permissionManager);
+            if (match.getResult() == CommandTree.Result.NO_PERMISSION) {
+                if (CommandMetrics.isEnabled()) {
+                    metrics.recordDenied();
+                }
+                sendNoPermission(sender);
+                return true;
+            }
+            executor = match.getExecutor();
+        }
+
+        CommandThrottle acquired = null;
+        if (throttle != null && sender instanceof Player && !isThrottleBypassed(sender)) {
+            Player player = (Player) sender;
+            CommandThrottle.Result result = throttle.acquire(player.getUniqueId());
+            if (result != CommandThrottle.Result.ALLOWED) {
+                if (CommandMetrics.isEnabled()) {
+                    metrics.recordThrottled();
+                }
+                sendThrottled(player, result);
+                return true;
+            }
+            acquired = throttle;
+        }
+
+        if (async) {
+            if (!submitAsync(sender, command, label, args, executor) && acquired != null) {
+                acquired.refund(((Player) sender).getUniqueId());
+            }
+            return true;
+        }
+        SubcommandExecutor resolved = executor;
+        return timed(() -> resolved != null ? resolved.execute(sender, label, args) : handleCommand(sender, command, label, args));
+    }
+
+    private boolean timed(BooleanSupplier task) {
+        if (!CommandMetrics.isEnabled()) {
+            return task.getAsBoolean();
+        }
+        long start = System.nanoTime();
+        try {
+            return task.getAsBoolean();
+        } finally {
+            metrics.recordInvocation(System.nanoTime() - start);
+        }
+    }
+
+    // Returns false when the executor rejected the command, so the caller can give the throttle token back
+    private boolean submitAsync(CommandSender sender, Command command, String label, String[] args, SubcommandExecutor executor) {
+        AsyncCommandExecutor.Submission submission = AsyncCommandExecutor.submit(sender, () -> {
+            try {
+                boolean handled = executor != null
+                        ? timed(() -> executor.execute(sender, label, args))
+                        : timed(() -> handleCommand(sender, command, label, args));
+                if (!handled) {
+                    runSync(() -> sendUsage(sender, command, label));
+                }
+            } catch (Exception e) {
+                ChatUtils.send(Level.SEVERE, "Unhandled exception executing command '" + name + "' asynchronously: " + e);
+                e.printStackTrace();
+            }
+        }, asyncTimeout, () -> runSync(() -> sendConfiguredMessage(sender, "SERVER.COMMAND-TIMEOUT",
+                "This command took too long and was cancelled.")));
+
+        if (submission == AsyncCommandExecutor.Submission.SENDER_BUSY) {
+            sendConfiguredMessage(sender, "SERVER.COMMAND-BUSY", "Please wait for your previous command to finish.");
+            return false;
+        } else if (submission == AsyncCommandExecutor.Submission.OVERLOADED) {
+            sendConfiguredMessage(sender, "SERVER.COMMAND-OVERLOADED", "The server is busy, please try again shortly.");
+            return false;
+        }
+        return true;
+    }
+
+    protected void runSync(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    private void sendUsage(CommandSender sender, Command command, String label) {
+        String usage = command.getUsage();
+        if (usage != null && !usage.isEmpty()) {
+            for (String line : usage.replace("<command>", label).split("\n")) {
+                sender.sendMessage(line);
+            }
+        }
+    }
+
+    private boolean isThrottleBypassed(CommandSender sender) {
+        return throttleBypass.isPresent() && permissionManager.hasPermission(sender, throttleBypass.get());
+    }
+
+    private void sendThrottled(Player player, CommandThrottle.Result result) {
+        String time = TimeUtils.formatMilliseconds(Math.max(1L, throttle.getRemainingMillis(player.getUniqueId())));
+        if (result == CommandThrottle.Result.COOLDOWN) {
+            sendConfiguredMessage(player, "SERVER.COOLDOWN",
+                    "You must wait %time% before using this command again.", "%time%", time);
+        } else {
+            sendConfiguredMessage(player, "SERVER.RATE-LIMITED",
+                    "You are using this command too quickly, try again in %time%.", "%time%", time);
+        }
+    }
+
+    private void sendNoPermission(CommandSender sender) {
+        sendConfiguredMessage(sender, "SERVER.NO-PERMISSION", "You don't have permission to use this command.");
+    }
+
+    protected void sendConfiguredMessage(CommandSender sender, String path, String fallback) {
+        messages.get(sender, path, fallback).send(sender);
+    }
+
+    protected void sendConfiguredMessage(CommandSender sender, String path, String fallback, String placeholder, String value) {
+        messages.get(sender, path, fallback).send(sender, placeholder, value);
+    }
+
+    protected MessageCatalog getMessages() {
+        return messages;
     }
 
     public abstract boolean handleCommand(CommandSender sender, Command command, String label, String[] args);
 
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
-        return aliases.map(a -> {
-            List<String> completions = new ArrayList<>();
-            for (String cmdAlias : a) {
-                if (cmdAlias.startsWith(args[0])) {
-                    completions.add(cmdAlias);
-                }
+        if (args.length == 0) {
+            return Collections.emptyList();
+        }
+
+        if (commandTree != null) {
+            Completions treeCompletions = new Completions(completions.getMaxResults());
+            commandTree.complete(sender, args, permissionManager, treeCompletions);
+            List<String> result = treeCompletions.toList();
+            if (!result.isEmpty()) {
+                return result;
             }
-            return completions;
-        }).orElseGet(ArrayList::new);
+        }
+
+        if (!completions.isEmpty()) {
+            return completions.complete(sender, args, permissionManager);
+        }
+
+        if (args.length > 1 || !aliases.isPresent()) {
+            return Collections.emptyList();
+        }
+        Completions aliasCompletions = new Completions(completions.getMaxResults());
+        for (String cmdAlias : aliases.get()) {
+            if (cmdAlias.startsWith(args[0]) && !aliasCompletions.add(cmdAlias)) {
+                break;
+            }
+        }
+        return aliasCompletions.toList();
+    }
+
+    public void addSubcommands(CommandNode... nodes) {
+        subcommands.addAll(Arrays.asList(nodes));
+    }
+
+    // Runs when the command is used without arguments, its permission is checked together with the subcommands
+    public void setDefaultExecutor(SubcommandExecutor executor, String permission) {
+        this.defaultExecutor = executor;
+        this.defaultPermission = permission;
+    }
+
+    public List<CommandNode> getSubcommands() {
+        return subcommands;
+    }
+
+    protected PermissionManager getPermissionManager() {
+        return permissionManager;
+    }
+
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+
+    public TabCompletionEngine getCompletions() {
+        return completions;
     }
 
     public String getName() {
@@ -132,6 +370,43 @@ public abstract class CommandHandler implements CommandExecutor, TabCompleter {
         this.aliases = Optional.ofNullable(aliases);
     }
 
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    public void setAsyncTimeout(long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    public long getCooldown() {
+        return cooldown;
+    }
+
+    public void setCooldown(long cooldown) {
+        this.cooldown = cooldown;
+    }
+
+    public void setRateLimit(int tokens, long period) {
+        this.rateLimitTokens = tokens;
+        this.rateLimitPeriod = period;
+    }
+
+    public Optional<String> getBypassPermission() {
+        return bypassPermission;
+    }
+
+    public void setBypassPermission(String bypassPermission) {
+        this.bypassPermission = Optional.ofNullable(bypassPermission);
+    }
+
     public Optional<String> getPermission() {
         return permission;
     }
@@ -0,0 +1,139 @@
+package dev.deltamc.deltalib.command;
+
+import dev.deltamc.deltalib.analytics.LatencyHistogram;
+import dev.deltamc.deltalib.analytics.bStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CommandMetrics {
+
+    private static final Map<String, CommandMetrics> METRICS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = false;
+
+    private final String name;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder denied = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private CommandMetrics(String name) {
+        this.name = name;
+    }
+
+    public static CommandMetrics of(String name) {
+        return METRICS.computeIfAbsent(name.toLowerCase(), CommandMetrics::new);
+    }
+
+    public static Optional<CommandMetrics> get(String name) {
+        return Optional.ofNullable(METRICS.get(name.toLowerCase()));
+    }
+
+    public static Collection<CommandMetrics> getAll() {
+        return Collections.unmodifiableCollection(METRICS.values());
+    }
+
+    public static List<CommandMetrics> getTop(int limit) {
+        List<CommandMetrics> sorted = new ArrayList<>(METRICS.values());
+        sorted.sort(Comparator.comparingLong(CommandMetrics::getInvocations).reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        CommandMetrics.enabled = enabled;
+    }
+
+    public static void resetAll() {
+        METRICS.values().forEach(CommandMetrics::reset);
+    }
+
+    // bStats adds up every submission, so each chart reports only what happened since its previous one
+    public static void registerCharts(bStats metrics) {
+        Map<String, Long> piePrevious = new HashMap<>();
+        metrics.addCustomChart(new bStats.AdvancedPie("command_invocations", () -> {
+            List<Map.Entry<String, Long>> deltas = new ArrayList<>(takeDeltas(piePrevious).entrySet());
+            deltas.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+            Map<String, Integer> values = new HashMap<>();
+            for (Map.Entry<String, Long> delta : deltas.subList(0, Math.min(10, deltas.size()))) {
+                if (delta.getValue() > 0) {
+                    values.put(delta.getKey(), (int) Math.min(Integer.MAX_VALUE, delta.getValue()));
+                }
+            }
+            return values;
+        }));
+        Map<String, Long> totalPrevious = new HashMap<>();
+        metrics.addCustomChart(new bStats.SingleLineChart("command_invocations_total", () -> {
+            long total = 0;
+            for (long delta : takeDeltas(totalPrevious).values()) {
+                total += delta;
+            }
+            return (int) Math.min(Integer.MAX_VALUE, total);
+        }));
+    }
+
+    private static Map<String, Long> takeDeltas(Map<String, Long> previous) {
+        Map<String, Long> deltas = new HashMap<>();
+        synchronized (previous) {
+            for (CommandMetrics command : METRICS.values()) {
+                long current = command.getInvocations();
+                Long last = previous.put(command.getName(), current);
+                // A reset since the last submission restarts the count from zero
+                long delta = last == null || current < last ? current : current - last;
+                deltas.put(command.getName(), delta);
+            }
+        }
+        return deltas;
+    }
+
+    void recordInvocation(long nanos) {
+        invocations.increment();
+        latency.record(nanos);
+    }
+
+    void recordDenied() {
+        denied.increment();
+    }
+
+    void recordThrottled() {
+        throttled.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    public long getDenied() {
+        return denied.sum();
+    }
+
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public void reset() {
+        invocations.reset();
+        denied.reset();
+        throttled.reset();
+        latency.reset();
+    }
+}
@@ -0,0 +1,205 @@
+package dev.deltamc.deltalib.command;
+
+import dev.deltamc.deltalib.utils.chat.ChatUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.SimplePluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+public class CommandRegistrar {
+
+    private static final MethodHandle COMMAND_MAP_GETTER;
+    private static final MethodHandle PLUGIN_COMMAND_CONSTRUCTOR;
+    private static MethodHandle syncCommands;
+    private static boolean syncCommandsResolved;
+    private static CommandMap commandMap;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle getter = null;
+        MethodHandle constructor = null;
+        try {
+            Field field = SimplePluginManager.class.getDeclaredField("commandMap");
+            field.setAccessible(true);
+            getter = lookup.unreflectGetter(field);
+        } catch (ReflectiveOperationException e) {
+            ChatUtils.send(Level.SEVERE, "Failed to resolve the server commandMap: " + e.getMessage());
+        }
+        try {
+            Constructor<PluginCommand> pluginCommand = PluginCommand.class.getDeclaredConstructor(String.class, Plugin.class);
+            pluginCommand.setAccessible(true);
+            constructor = lookup.unreflectConstructor(pluginCommand);
+        } catch (ReflectiveOperationException e) {
+            ChatUtils.send(Level.SEVERE, "Failed to resolve the PluginCommand constructor: " + e.getMessage());
+        }
+        COMMAND_MAP_GETTER = getter;
+        PLUGIN_COMMAND_CONSTRUCTOR = constructor;
+    }
+
+    public static synchronized CommandMap getCommandMap() {
+        if (commandMap == null && COMMAND_MAP_GETTER != null) {
+            try {
+                commandMap = (CommandMap) COMMAND_MAP_GETTER.invoke((SimplePluginManager) Bukkit.getPluginManager());
+            } catch (Throwable e) {
+                ChatUtils.send(Level.SEVERE, "Failed to read the server commandMap: " + e.getMessage());
+            }
+        }
+        return commandMap;
+    }
+
+    public static PluginCommand createCommand(String name, Plugin plugin) {
+        if (PLUGIN_COMMAND_CONSTRUCTOR == null) {
+            return null;
+        }
+        try {
+            return (PluginCommand) PLUGIN_COMMAND_CONSTRUCTOR.invoke(name, plugin);
+        } catch (Throwable e) {
+            ChatUtils.send(Level.SEVERE, "Failed to create PluginCommand for " + name);
+            return null;
+        }
+    }
+
+    public static Report registerAll(JavaPlugin plugin, CommandHandler... handlers) {
+        return registerAll(plugin, Arrays.asList(handlers));
+    }
+
+    public static Report registerAll(JavaPlugin plugin, Collection<? extends CommandHandler> handlers) {
+        long start = System.nanoTime();
+        CommandMap map = getCommandMap();
+
+        List<PluginCommand> commands = new ArrayList<>(handlers.size());
+        int failed = 0;
+        for (CommandHandler handler : handlers) {
+            PluginCommand command = handler.prepare();
+            if (command == null) {
+                failed++;
+            } else {
+                commands.add(command);
+            }
+        }
+        long prepared = System.nanoTime();
+
+        int conflicts = 0;
+        if (map != null) {
+            for (PluginCommand command : commands) {
+                if (!register(map, command)) {
+                    conflicts++;
+                }
+            }
+        } else {
+            failed += commands.size();
+            commands.clear();
+        }
+        long registered = System.nanoTime();
+
+        syncCommands();
+        long synced = System.nanoTime();
+
+        Report report = new Report(commands.size(), conflicts, failed,
+                prepared - start, registered - prepared, synced - registered);
+        ChatUtils.send(Level.INFO, "[" + plugin.getName() + "] " + report);
+        return report;
+    }
+
+    static boolean register(CommandMap map, PluginCommand command) {
+        if (map.register(command.getName(), command)) {
+            return true;
+        }
+        ChatUtils.send(Level.WARNING, "Command '" + command.getName() + "' already registered, unregistering and registering again.");
+        command.unregister(map);
+        map.register(command.getName(), command);
+        return false;
+    }
+
+    // Pushes the updated command tree to online clients, available on 1.13+ CraftServer
+    public static synchronized void syncCommands() {
+        if (!syncCommandsResolved) {
+            syncCommandsResolved = true;
+            try {
+                Method method = Bukkit.getServer().getClass().getDeclaredMethod("syncCommands");
+                method.setAccessible(true);
+                syncCommands = MethodHandles.lookup().unreflect(method);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                ChatUtils.send(Level.FINE, "Server does not support command tree resync: " + e.getMessage());
+            }
+        }
+        if (syncCommands == null) {
+            return;
+        }
+        try {
+            syncCommands.invoke(Bukkit.getServer());
+        } catch (Throwable e) {
+            ChatUtils.send(Level.WARNING, "Failed to resync the command tree: " + e.getMessage());
+        }
+    }
+
+    public static final class Report {
+
+        private final int registered;
+        private final int conflicts;
+        private final int failed;
+        private final long prepareNanos;
+        private final long registerNanos;
+        private final long syncNanos;
+
+        private Report(int registered, int conflicts, int failed, long prepareNanos, long registerNanos, long syncNanos) {
+            this.registered = registered;
+            this.conflicts = conflicts;
+            this.failed = failed;
+            this.prepareNanos = prepareNanos;
+            this.registerNanos = registerNanos;
+            this.syncNanos = syncNanos;
+        }
+
+        public int getRegistered() {
+            return registered;
+        }
+
+        public int getConflicts() {
+            return conflicts;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public long getPrepareNanos() {
+            return prepareNanos;
+        }
+
+        public long getRegisterNanos() {
+            return registerNanos;
+        }
+
+        public long getSyncNanos() {
+            return syncNanos;
+        }
+
+        public long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(prepareNanos + registerNanos + syncNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "Registered " + registered + " commands in " + getTotalMillis() + "ms (prepare "
+                    + TimeUnit.NANOSECONDS.toMillis(prepareNanos) + "ms, register "
+                    + TimeUnit.NANOSECONDS.toMillis(registerNanos) + "ms, sync "
+                    + TimeUnit.NANOSECONDS.toMillis(syncNanos) + "ms, " + conflicts + " conflicts, "
+                    + failed + " failed)";
+        }
+    }
+}
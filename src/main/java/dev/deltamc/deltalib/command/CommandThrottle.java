@@ -0,0 +1,151 @@
+package dev.deltamc.deltalib.command;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+public class CommandThrottle {
+
+    public enum Result {
+        ALLOWED,
+        COOLDOWN,
+        RATE_LIMITED
+    }
+
+    private static final Set<CommandThrottle> THROTTLES = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean LISTENING = new AtomicBoolean();
+
+    private final long cooldownNanos;
+    private final long emissionInterval;
+    private final long burstTolerance;
+    // Keyed by the player's own UUID instance rather than a primitive (msb, lsb) table: lookups are already lock-free
+    // reads, nothing is boxed on the hot path, and the CAS-updated State fields carry the actual contention
+    private final ConcurrentHashMap<UUID, State> states = new ConcurrentHashMap<>();
+
+    public CommandThrottle(long cooldownMillis, int rateLimitTokens, long rateLimitPeriodMillis) {
+        this.cooldownNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, cooldownMillis));
+        if (rateLimitTokens > 0 && rateLimitPeriodMillis > 0) {
+            this.emissionInterval = TimeUnit.MILLISECONDS.toNanos(rateLimitPeriodMillis) / rateLimitTokens;
+            this.burstTolerance = emissionInterval * (rateLimitTokens - 1);
+        } else {
+            this.emissionInterval = 0L;
+            this.burstTolerance = 0L;
+        }
+        THROTTLES.add(this);
+    }
+
+    public static void register(JavaPlugin plugin) {
+        if (LISTENING.compareAndSet(false, true)) {
+            plugin.getServer().getPluginManager().registerEvents(new QuitListener(), plugin);
+        }
+    }
+
+    public boolean isEnabled() {
+        return cooldownNanos > 0 || emissionInterval > 0;
+    }
+
+    public Result acquire(UUID uuid) {
+        long now = System.nanoTime();
+        State state = states.get(uuid);
+        if (state == null) {
+            State created = new State(now);
+            state = states.putIfAbsent(uuid, created);
+            if (state == null) {
+                state = created;
+            }
+        }
+
+        long cooldownUntil = state.cooldownUntil;
+        if (cooldownNanos > 0 && cooldownUntil - now > 0) {
+            return Result.COOLDOWN;
+        }
+
+        // Generic cell rate algorithm: a token bucket stored as a single theoretical arrival time
+        if (emissionInterval > 0) {
+            long arrival;
+            long next;
+            do {
+                arrival = state.theoreticalArrival;
+                long effective = arrival - now > 0 ? arrival : now;
+                if (effective - now > burstTolerance) {
+                    return Result.RATE_LIMITED;
+                }
+                next = effective + emissionInterval;
+            } while (!State.ARRIVAL.compareAndSet(state, arrival, next));
+        }
+
+        if (cooldownNanos > 0 && !State.COOLDOWN.compareAndSet(state, cooldownUntil, now + cooldownNanos)) {
+            // A concurrent call started the cooldown first, give back the token this one took
+            if (emissionInterval > 0) {
+                State.ARRIVAL.addAndGet(state, -emissionInterval);
+            }
+            return Result.COOLDOWN;
+        }
+        return Result.ALLOWED;
+    }
+
+    // Gives back what a successful acquire took, for invocations rejected after the throttle was passed
+    public void refund(UUID uuid) {
+        State state = states.get(uuid);
+        if (state == null) {
+            return;
+        }
+        if (emissionInterval > 0) {
+            State.ARRIVAL.addAndGet(state, -emissionInterval);
+        }
+        if (cooldownNanos > 0) {
+            state.cooldownUntil = System.nanoTime();
+        }
+    }
+
+    public long getRemainingMillis(UUID uuid) {
+        State state = states.get(uuid);
+        if (state == null) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        long remaining = Math.max(state.cooldownUntil - now, state.theoreticalArrival - burstTolerance - now);
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(remaining));
+    }
+
+    public void reset(UUID uuid) {
+        states.remove(uuid);
+    }
+
+    public void close() {
+        THROTTLES.remove(this);
+        states.clear();
+    }
+
+    private static final class State {
+        static final AtomicLongFieldUpdater<State> COOLDOWN = AtomicLongFieldUpdater.newUpdater(State.class, "cooldownUntil");
+        static final AtomicLongFieldUpdater<State> ARRIVAL = AtomicLongFieldUpdater.newUpdater(State.class, "theoreticalArrival");
+
+        volatile long cooldownUntil;
+        volatile long theoreticalArrival;
+
+        State(long now) {
+            this.cooldownUntil = now;
+            this.theoreticalArrival = now;
+        }
+    }
+
+    private static final class QuitListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerQuit(PlayerQuitEvent event) {
+            UUID uuid = event.getPlayer().getUniqueId();
+            for (CommandThrottle throttle : THROTTLES) {
+                throttle.states.remove(uuid);
+            }
+        }
+    }
+}
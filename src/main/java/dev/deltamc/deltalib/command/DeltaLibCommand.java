@@ -0,0 +1,128 @@
+package dev.deltamc.deltalib.command;
+
+import dev.deltamc.deltalib.builders.GUIMetrics;
+import dev.deltamc.deltalib.builders.GUISessionRegistry;
+import dev.deltamc.deltalib.command.completion.SuggestionProviders;
+import dev.deltamc.deltalib.integrations.PlaceholderAPIIntegration;
+import dev.deltamc.deltalib.command.tree.CommandNode;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DeltaLibCommand extends CommandHandler {
+
+    public DeltaLibCommand(JavaPlugin plugin) {
+        super("deltalib", plugin);
+        setDescription("DeltaLib administration commands.");
+        setPermission("deltalib.admin");
+
+        addSubcommands(
+                CommandNode.literal("metrics")
+                        .executes((sender, label, args) -> showTopCommands(sender))
+                        .then(
+                                CommandNode.literal("enable").executes((sender, label, args) -> toggleMetrics(sender, true)),
+                                CommandNode.literal("disable").executes((sender, label, args) -> toggleMetrics(sender, false)),
+                                CommandNode.literal("reset").executes((sender, label, args) -> resetMetrics(sender)),
+                                CommandNode.argument("command")
+                                        .suggests(SuggestionProviders.cached(DeltaLibCommand::getCommandNames))
+                                        .executes((sender, label, args) -> showCommand(sender, args[1]))
+                        ),
+                CommandNode.literal("gui").executes((sender, label, args) -> showGUISessions(sender)),
+                CommandNode.literal("placeholders").executes((sender, label, args) -> showPlaceholders(sender))
+        );
+    }
+
+    @Override
+    public boolean handleCommand(CommandSender sender, Command command, String label, String[] args) {
+        send(sender, "&bDeltaLib &7v" + JavaPlugin.getProvidingPlugin(getClass()).getDescription().getVersion());
+        send(sender, "&7/" + label + " metrics &8- &fTop commands by invocations");
+        send(sender, "&7/" + label + " metrics <command> &8- &fLatency details for a command");
+        send(sender, "&7/" + label + " metrics <enable|disable|reset> &8- &fControl command metrics");
+        send(sender, "&7/" + label + " gui &8- &fOpen menu sessions");
+        send(sender, "&7/" + label + " placeholders &8- &fPlaceholder cache statistics");
+        return true;
+    }
+
+    private boolean showTopCommands(CommandSender sender) {
+        if (!CommandMetrics.isEnabled()) {
+            send(sender, "&eCommand metrics are disabled, use &f/deltalib metrics enable&e.");
+        }
+        List<CommandMetrics> top = CommandMetrics.getTop(10);
+        if (top.isEmpty()) {
+            send(sender, "&7No commands have been recorded yet.");
+            return true;
+        }
+        send(sender, "&bTop commands:");
+        for (CommandMetrics metrics : top) {
+            send(sender, String.format("&f/%s &7calls=&f%d &7denied=&f%d &7throttled=&f%d &7mean=&f%.2fms &7p99=&f%.2fms",
+                    metrics.getName(), metrics.getInvocations(), metrics.getDenied(), metrics.getThrottled(),
+                    metrics.getLatency().getMeanMillis(), metrics.getLatency().getPercentileMillis(99)));
+        }
+        return true;
+    }
+
+    private boolean showCommand(CommandSender sender, String name) {
+        CommandMetrics metrics = CommandMetrics.get(name).orElse(null);
+        if (metrics == null) {
+            send(sender, "&cNo metrics recorded for /" + name + ".");
+            return true;
+        }
+        send(sender, "&b/" + metrics.getName() + " &7calls=&f" + metrics.getInvocations()
+                + " &7denied=&f" + metrics.getDenied() + " &7throttled=&f" + metrics.getThrottled());
+        send(sender, "&7" + metrics.getLatency());
+        return true;
+    }
+
+    private boolean showGUISessions(CommandSender sender) {
+        send(sender, "&7Open GUI sessions: &f" + GUISessionRegistry.size());
+        for (GUIMetrics metrics : GUIMetrics.getTop(5)) {
+            send(sender, String.format("&f%s &7opens=&f%d &7open p95=&f%.2fms &7build p95=&f%.2fms",
+                    metrics.getName(), metrics.getOpens(), metrics.getOpenLatency().getPercentileMillis(95),
+                    metrics.getBuildTime().getPercentileMillis(95)));
+        }
+        return true;
+    }
+
+    private boolean showPlaceholders(CommandSender sender) {
+        if (!PlaceholderAPIIntegration.isStatsEnabled()) {
+            send(sender, "&ePlaceholder statistics follow command metrics, use &f/deltalib metrics enable&e.");
+            return true;
+        }
+        send(sender, String.format("&7Placeholder cache hits=&f%d &7misses=&f%d &7hit rate=&f%.1f%%",
+                PlaceholderAPIIntegration.getCacheHits(), PlaceholderAPIIntegration.getCacheMisses(),
+                PlaceholderAPIIntegration.getHitRate() * 100));
+        PlaceholderAPIIntegration.getResolveTimes().forEach((expansion, latency) ->
+                send(sender, String.format("&f%s &7resolves=&f%d &7mean=&f%.2fms &7p99=&f%.2fms",
+                        expansion, latency.getCount(), latency.getMeanMillis(), latency.getPercentileMillis(99))));
+        return true;
+    }
+
+    private boolean toggleMetrics(CommandSender sender, boolean enabled) {
+        CommandMetrics.setEnabled(enabled);
+        PlaceholderAPIIntegration.setStatsEnabled(enabled);
+        send(sender, "&7Command metrics " + (enabled ? "&aenabled" : "&cdisabled") + "&7.");
+        return true;
+    }
+
+    private boolean resetMetrics(CommandSender sender) {
+        CommandMetrics.resetAll();
+        send(sender, "&7Command metrics have been reset.");
+        return true;
+    }
+
+    private static List<String> getCommandNames() {
+        List<String> names = new ArrayList<>();
+        for (CommandMetrics metrics : CommandMetrics.getAll()) {
+            names.add(metrics.getName());
+        }
+        return names;
+    }
+
+    private static void send(CommandSender sender, String message) {
+        sender.sendMessage(ChatColor.translateAlternateColorCodes('&', message));
+    }
+}
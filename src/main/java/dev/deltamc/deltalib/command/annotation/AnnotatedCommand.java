@@ -0,0 +1,211 @@
+package dev.deltamc.deltalib.command.annotation;
+
+import dev.deltamc.deltalib.command.CommandHandler;
+import dev.deltamc.deltalib.command.tree.CommandNode;
+import dev.deltamc.deltalib.command.tree.SubcommandExecutor;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class AnnotatedCommand extends CommandHandler {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final List<String> usages = new ArrayList<>();
+    private boolean hasRootExecutor;
+
+    public AnnotatedCommand(JavaPlugin plugin, Object handler) {
+        super(getInfo(handler).name(), plugin);
+        CommandInfo info = getInfo(handler);
+        if (info.aliases().length > 0) {
+            setAliases(Arrays.asList(info.aliases()));
+        }
+        if (!info.permission().isEmpty()) {
+            setPermission(info.permission());
+        }
+        if (!info.description().isEmpty()) {
+            setDescription(info.description());
+        }
+
+        List<CommandNode> roots = new ArrayList<>();
+        for (Method method : handler.getClass().getDeclaredMethods()) {
+            Subcommand subcommand = method.getAnnotation(Subcommand.class);
+            if (subcommand != null) {
+                bind(handler, method, subcommand, roots);
+            }
+        }
+        addSubcommands(roots.toArray(new CommandNode[0]));
+    }
+
+    private static CommandInfo getInfo(Object handler) {
+        CommandInfo info = handler.getClass().getAnnotation(CommandInfo.class);
+        if (info == null) {
+            throw new IllegalArgumentException(handler.getClass().getName() + " is not annotated with @CommandInfo");
+        }
+        return info;
+    }
+
+    @Override
+    public boolean handleCommand(CommandSender sender, Command command, String label, String[] args) {
+        for (String usage : usages) {
+            sender.sendMessage(ChatColor.translateAlternateColorCodes('&', "&7/" + label + usage));
+        }
+        return true;
+    }
+
+    public List<String> getUsages() {
+        return usages;
+    }
+
+    private void bind(Object handler, Method method, Subcommand subcommand, List<CommandNode> roots) {
+        Parameter[] parameters = method.getParameters();
+        if (parameters.length == 0 || !CommandSender.class.isAssignableFrom(parameters[0].getType())) {
+            throw new IllegalArgumentException("First parameter of " + method + " must be a CommandSender or Player");
+        }
+
+        String[] literals = subcommand.value().trim().isEmpty() ? new String[0] : subcommand.value().trim().split("\\s+");
+        String permission = subcommand.permission().isEmpty() ? null : subcommand.permission();
+        ArgumentParser<?>[] parsers = new ArgumentParser<?>[parameters.length - 1];
+        StringBuilder usage = new StringBuilder();
+        for (String literal : literals) {
+            usage.append(' ').append(literal);
+        }
+
+        CommandNode node = null;
+        List<CommandNode> level = roots;
+        for (int i = 0; i < literals.length; i++) {
+            String[] aliases = i == literals.length - 1 ? subcommand.aliases() : new String[0];
+            node = child(level, literals[i], false, aliases);
+            level = node.getChildren();
+        }
+        for (int i = 1; i < parameters.length; i++) {
+            parsers[i - 1] = ArgumentParsers.get(parameters[i]);
+            Arg arg = parameters[i].getAnnotation(Arg.class);
+            String name = arg != null ? arg.value() : argumentName(parameters[i]);
+            node = child(level, name, true);
+            // A node shared with another method keeps the suggestions it was created with
+            if (node.getSuggestions() == null) {
+                node.suggests(parsers[i - 1].getSuggestions());
+            }
+            level = node.getChildren();
+            usage.append(" <").append(name).append('>');
+        }
+
+        SubcommandExecutor executor = new MethodExecutor(this, createInvoker(handler, method), method.getReturnType(),
+                Player.class.isAssignableFrom(parameters[0].getType()), literals.length, parsers);
+        if (node == null) {
+            if (hasRootExecutor) {
+                throw new IllegalStateException("Duplicate root executor in " + handler.getClass().getName());
+            }
+            setDefaultExecutor(executor, permission);
+            hasRootExecutor = true;
+        } else {
+            if (node.getExecutor() != null) {
+                throw new IllegalStateException("Duplicate subcommand '" + subcommand.value() + "' in " + handler.getClass().getName());
+            }
+            // The permission guards the node that runs this method, so "give" and "give <player>" can differ
+            if (permission != null) {
+                if (node.getPermission() != null && !node.getPermission().equals(permission)) {
+                    throw new IllegalStateException("Conflicting permissions for '" + subcommand.value() + "' in "
+                            + handler.getClass().getName() + ": " + node.getPermission() + " and " + permission);
+                }
+                node.permission(permission);
+            }
+            node.executes(executor);
+        }
+        usages.add(usage.toString());
+    }
+
+    // Without -parameters javac only keeps arg0, arg1..., so fall back to the parsed type, e.g. <player> or <int>
+    private static String argumentName(Parameter parameter) {
+        return parameter.isNamePresent() ? parameter.getName() : parameter.getType().getSimpleName().toLowerCase();
+    }
+
+    // Argument nodes only merge when the names agree, a different name at the same level is rejected when the tree compiles
+    private static CommandNode child(List<CommandNode> level, String name, boolean argument, String... aliases) {
+        for (CommandNode existing : level) {
+            if (existing.isArgument() == argument && existing.getName().equalsIgnoreCase(name)) {
+                return existing;
+            }
+        }
+        CommandNode created = argument ? CommandNode.argument(name) : CommandNode.literal(name, aliases);
+        level.add(created);
+        return created;
+    }
+
+    private static MethodHandle createInvoker(Object handler, Method method) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(handler);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access command method " + method, e);
+        }
+    }
+
+    // Parses the typed arguments and calls the bound method handle, no reflection on the hot path
+    private static final class MethodExecutor implements SubcommandExecutor {
+
+        private final AnnotatedCommand command;
+        private final MethodHandle invoker;
+        private final boolean returnsBoolean;
+        private final boolean playerOnly;
+        private final int offset;
+        private final ArgumentParser<?>[] parsers;
+
+        private MethodExecutor(AnnotatedCommand command, MethodHandle invoker, Class<?> returnType, boolean playerOnly,
+                               int offset, ArgumentParser<?>[] parsers) {
+            this.command = command;
+            this.invoker = invoker;
+            this.returnsBoolean = returnType == boolean.class || returnType == Boolean.class;
+            this.playerOnly = playerOnly;
+            this.offset = offset;
+            this.parsers = parsers;
+        }
+
+        @Override
+        public boolean execute(CommandSender sender, String label, String[] args) {
+            if (playerOnly && !(sender instanceof Player)) {
+                command.sendConfiguredMessage(sender, "SERVER.PLAYER-ONLY", "Only players can use this command.");
+                return true;
+            }
+
+            Object[] values = new Object[parsers.length + 1];
+            values[0] = sender;
+            for (int i = 0; i < parsers.length; i++) {
+                String input = args[offset + i];
+                try {
+                    values[i + 1] = parsers[i].parse(input);
+                } catch (IllegalArgumentException e) {
+                    command.sendConfiguredMessage(sender, "SERVER.INVALID-ARGUMENT", "Invalid argument: %input%", "%input%", input);
+                    return true;
+                }
+            }
+
+            Object result;
+            try {
+                result = (Object) invoker.invokeExact(values);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+            return !returnsBoolean || Boolean.TRUE.equals(result);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package dev.deltamc.deltalib.command.annotation;
+
+import dev.deltamc.deltalib.command.completion.SuggestionProvider;
+
+public interface ArgumentParser<T> {
+
+    T parse(String input) throws IllegalArgumentException;
+
+    default SuggestionProvider getSuggestions() {
+        return null;
+    }
+}
@@ -0,0 +1,118 @@
+package dev.deltamc.deltalib.command.annotation;
+
+import dev.deltamc.deltalib.command.completion.SuggestionProvider;
+import dev.deltamc.deltalib.command.completion.SuggestionProviders;
+import dev.deltamc.deltalib.utils.server.TimeUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ArgumentParsers {
+
+    private static final Map<Class<?>, ArgumentParser<?>> PARSERS = new ConcurrentHashMap<>();
+    private static final SuggestionProvider BOOLEANS = SuggestionProviders.of("true", "false");
+    private static final SuggestionProvider DURATIONS = SuggestionProviders.of("30s", "5m", "1h", "1d", "7d");
+
+    private static final ArgumentParser<Long> DURATION = new ArgumentParser<Long>() {
+        @Override
+        public Long parse(String input) {
+            return TimeUtils.convertToMilliseconds(input);
+        }
+
+        @Override
+        public SuggestionProvider getSuggestions() {
+            return DURATIONS;
+        }
+    };
+
+    static {
+        register(String.class, input -> input);
+        register(int.class, Integer::parseInt);
+        register(Integer.class, Integer::parseInt);
+        register(long.class, Long::parseLong);
+        register(Long.class, Long::parseLong);
+        register(double.class, Double::parseDouble);
+        register(Double.class, Double::parseDouble);
+        ArgumentParser<Boolean> booleans = new ArgumentParser<Boolean>() {
+            @Override
+            public Boolean parse(String input) {
+                if (input.equalsIgnoreCase("true") || input.equalsIgnoreCase("yes")) {
+                    return true;
+                }
+                if (input.equalsIgnoreCase("false") || input.equalsIgnoreCase("no")) {
+                    return false;
+                }
+                throw new IllegalArgumentException("Not a boolean: " + input);
+            }
+
+            @Override
+            public SuggestionProvider getSuggestions() {
+                return BOOLEANS;
+            }
+        };
+        register(boolean.class, booleans);
+        register(Boolean.class, booleans);
+        register(Player.class, new ArgumentParser<Player>() {
+            @Override
+            public Player parse(String input) {
+                Player player = Bukkit.getPlayerExact(input);
+                if (player == null) {
+                    throw new IllegalArgumentException("Player not found: " + input);
+                }
+                return player;
+            }
+
+            @Override
+            public SuggestionProvider getSuggestions() {
+                return SuggestionProviders.onlinePlayers();
+            }
+        });
+    }
+
+    public static <T> void register(Class<T> type, ArgumentParser<? extends T> parser) {
+        PARSERS.put(type, parser);
+    }
+
+    public static ArgumentParser<?> get(Parameter parameter) {
+        Class<?> type = parameter.getType();
+        if (parameter.isAnnotationPresent(Duration.class)) {
+            if (type != long.class && type != Long.class) {
+                throw new IllegalArgumentException("@Duration can only be used on long parameters: " + parameter);
+            }
+            return DURATION;
+        }
+
+        ArgumentParser<?> parser = PARSERS.get(type);
+        if (parser == null && type.isEnum()) {
+            parser = PARSERS.computeIfAbsent(type, ArgumentParsers::enumParser);
+        }
+        if (parser == null) {
+            throw new IllegalArgumentException("No argument parser registered for " + type.getName());
+        }
+        return parser;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentParser<?> enumParser(Class<?> type) {
+        Object[] constants = type.getEnumConstants();
+        String[] names = new String[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            names[i] = ((Enum<?>) constants[i]).name().toLowerCase();
+        }
+        SuggestionProvider suggestions = SuggestionProviders.of(names);
+        return new ArgumentParser<Object>() {
+            @Override
+            public Object parse(String input) {
+                return Enum.valueOf((Class) type, input.toUpperCase());
+            }
+
+            @Override
+            public SuggestionProvider getSuggestions() {
+                return suggestions;
+            }
+        };
+    }
+}
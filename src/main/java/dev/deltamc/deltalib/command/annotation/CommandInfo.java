@@ -0,0 +1,18 @@
+package dev.deltamc.deltalib.command.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CommandInfo {
+    String name();
+
+    String[] aliases() default {};
+
+    String permission() default "";
+
+    String description() default "";
+}
@@ -0,0 +1,12 @@
+package dev.deltamc.deltalib.command.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a long parameter as a duration such as 30s or 2h, parsed into milliseconds
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Duration {
+}
@@ -0,0 +1,17 @@
+package dev.deltamc.deltalib.command.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Subcommand {
+    // Space separated literal path, empty for the root command
+    String value() default "";
+
+    String[] aliases() default {};
+
+    String permission() default "";
+}
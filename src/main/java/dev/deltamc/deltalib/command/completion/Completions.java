@@ -0,0 +1,34 @@
+package dev.deltamc.deltalib.command.completion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class Completions {
+
+    private final int limit;
+    private List<String> results;
+
+    public Completions(int limit) {
+        this.limit = limit;
+    }
+
+    public boolean add(String completion) {
+        if (isFull()) {
+            return false;
+        }
+        if (results == null) {
+            results = new ArrayList<>(Math.min(limit, 16));
+        }
+        results.add(completion);
+        return true;
+    }
+
+    public boolean isFull() {
+        return results != null && results.size() >= limit;
+    }
+
+    public List<String> toList() {
+        return results == null ? Collections.emptyList() : results;
+    }
+}
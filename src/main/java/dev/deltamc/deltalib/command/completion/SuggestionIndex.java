@@ -0,0 +1,122 @@
+package dev.deltamc.deltalib.command.completion;
+
+import dev.deltamc.deltalib.command.permission.PermissionManager;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public final class SuggestionIndex {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte ALLOWED = 1;
+    private static final byte DENIED = 2;
+
+    private final String[] values;
+    private final int[] permissionIds;
+    private final String[] permissions;
+
+    private SuggestionIndex(String[] values, int[] permissionIds, String[] permissions) {
+        this.values = values;
+        this.permissionIds = permissionIds;
+        this.permissions = permissions;
+    }
+
+    public static SuggestionIndex of(Collection<String> values) {
+        Builder builder = new Builder();
+        for (String value : values) {
+            builder.add(value, null);
+        }
+        return builder.build();
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public void collect(String prefix, Completions completions) {
+        collect(null, prefix, null, completions);
+    }
+
+    public void collect(CommandSender sender, String prefix, PermissionManager permissionManager, Completions completions) {
+        byte[] states = null;
+        for (int i = lowerBound(prefix); i < values.length; i++) {
+            String value = values[i];
+            if (!value.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                return;
+            }
+
+            int permissionId = permissionIds[i];
+            if (permissionId >= 0 && permissionManager != null) {
+                if (states == null) {
+                    states = new byte[permissions.length];
+                }
+                if (states[permissionId] == UNKNOWN) {
+                    states[permissionId] = permissionManager.hasPermission(sender, permissions[permissionId]) ? ALLOWED : DENIED;
+                }
+                if (states[permissionId] == DENIED) {
+                    continue;
+                }
+            }
+
+            if (!completions.add(value)) {
+                return;
+            }
+        }
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(values[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static final class Builder {
+
+        private final List<String> values = new ArrayList<>();
+        private final List<String> valuePermissions = new ArrayList<>();
+
+        public Builder add(String value, String permission) {
+            values.add(value);
+            valuePermissions.add(permission);
+            return this;
+        }
+
+        public SuggestionIndex build() {
+            Integer[] order = new Integer[values.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(values.get(a), values.get(b)));
+
+            List<String> distinct = new ArrayList<>();
+            String[] sorted = new String[order.length];
+            int[] ids = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = values.get(order[i]);
+                String permission = valuePermissions.get(order[i]);
+                if (permission == null) {
+                    ids[i] = -1;
+                    continue;
+                }
+                int id = distinct.indexOf(permission);
+                if (id < 0) {
+                    id = distinct.size();
+                    distinct.add(permission);
+                }
+                ids[i] = id;
+            }
+            return new SuggestionIndex(sorted, ids, distinct.toArray(new String[0]));
+        }
+    }
+}
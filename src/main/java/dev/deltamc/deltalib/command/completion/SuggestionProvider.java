@@ -0,0 +1,19 @@
+package dev.deltamc.deltalib.command.completion;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.Collection;
+
+@FunctionalInterface
+public interface SuggestionProvider {
+
+    Collection<String> getSuggestions(CommandSender sender);
+
+    default void collect(CommandSender sender, String prefix, Completions completions) {
+        for (String suggestion : getSuggestions(sender)) {
+            if (suggestion.regionMatches(true, 0, prefix, 0, prefix.length()) && !completions.add(suggestion)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.deltamc.deltalib.command.completion;
+
+import dev.deltamc.deltalib.utils.server.ModulesUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class SuggestionProviders {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final SuggestionProvider ONLINE_PLAYERS = cached(() -> {
+        Collection<? extends Player> players = Bukkit.getOnlinePlayers();
+        List<String> names = new ArrayList<>(players.size());
+        for (Player player : players) {
+            names.add(player.getName());
+        }
+        return names;
+    });
+
+    public static SuggestionProvider onlinePlayers() {
+        return ONLINE_PLAYERS;
+    }
+
+    // Names of the modules registered with the given ModulesUtils, e.g. for "/plugin module <name>"
+    public static SuggestionProvider modules(ModulesUtils modules) {
+        return cached(modules::getModuleNames);
+    }
+
+    public static SuggestionProvider of(String... values) {
+        SuggestionIndex index = SuggestionIndex.of(Arrays.asList(values));
+        return new SuggestionProvider() {
+            @Override
+            public Collection<String> getSuggestions(CommandSender sender) {
+                return Arrays.asList(values);
+            }
+
+            @Override
+            public void collect(CommandSender sender, String prefix, Completions completions) {
+                index.collect(prefix, completions);
+            }
+        };
+    }
+
+    public static SuggestionProvider cached(Supplier<? extends Collection<String>> supplier) {
+        return new CachedProvider(supplier);
+    }
+
+    // Rebuilds its sorted index at most once per server tick, no matter how many players are typing
+    private static final class CachedProvider implements SuggestionProvider {
+
+        private final Supplier<? extends Collection<String>> supplier;
+        private volatile SuggestionIndex index;
+        private volatile Collection<String> snapshot;
+        private volatile long expiresAt;
+
+        private CachedProvider(Supplier<? extends Collection<String>> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Collection<String> getSuggestions(CommandSender sender) {
+            refresh();
+            return snapshot;
+        }
+
+        @Override
+        public void collect(CommandSender sender, String prefix, Completions completions) {
+            refresh();
+            index.collect(prefix, completions);
+        }
+
+        private void refresh() {
+            long now = System.nanoTime();
+            if (index != null && now - expiresAt < 0) {
+                return;
+            }
+            Collection<String> values = supplier.get();
+            snapshot = values;
+            index = SuggestionIndex.of(values);
+            expiresAt = now + TICK_NANOS;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package dev.deltamc.deltalib.command.completion;
+
+import dev.deltamc.deltalib.command.permission.PermissionManager;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TabCompletionEngine {
+
+    private final List<SuggestionIndex.Builder> staticSuggestions = new ArrayList<>();
+    private final List<List<SuggestionProvider>> providers = new ArrayList<>();
+    private volatile Position[] positions;
+    private int maxResults = 50;
+
+    public TabCompletionEngine add(int position, String... values) {
+        return addPermitted(position, null, values);
+    }
+
+    public synchronized TabCompletionEngine addPermitted(int position, String permission, String... values) {
+        ensurePosition(position);
+        for (String value : values) {
+            staticSuggestions.get(position).add(value, permission);
+        }
+        positions = null;
+        return this;
+    }
+
+    public synchronized TabCompletionEngine add(int position, SuggestionProvider provider) {
+        ensurePosition(position);
+        providers.get(position).add(provider);
+        positions = null;
+        return this;
+    }
+
+    public TabCompletionEngine setMaxResults(int maxResults) {
+        this.maxResults = Math.max(1, maxResults);
+        return this;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public boolean isEmpty() {
+        return staticSuggestions.isEmpty();
+    }
+
+    public List<String> complete(CommandSender sender, String[] args, PermissionManager permissionManager) {
+        Position[] compiled = positions;
+        if (compiled == null) {
+            compiled = compile();
+        }
+        int index = args.length - 1;
+        if (index < 0 || index >= compiled.length) {
+            return Collections.emptyList();
+        }
+
+        Completions completions = new Completions(maxResults);
+        compiled[index].collect(sender, args[index], permissionManager, completions);
+        return completions.toList();
+    }
+
+    public synchronized Position[] compile() {
+        if (positions != null) {
+            return positions;
+        }
+        Position[] compiled = new Position[staticSuggestions.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = new Position(staticSuggestions.get(i).build(),
+                    providers.get(i).toArray(new SuggestionProvider[0]));
+        }
+        positions = compiled;
+        return compiled;
+    }
+
+    private void ensurePosition(int position) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Argument position cannot be negative.");
+        }
+        while (staticSuggestions.size() <= position) {
+            staticSuggestions.add(new SuggestionIndex.Builder());
+            providers.add(new ArrayList<>());
+        }
+    }
+
+    public static final class Position {
+
+        private final SuggestionIndex index;
+        private final SuggestionProvider[] providers;
+
+        private Position(SuggestionIndex index, SuggestionProvider[] providers) {
+            this.index = index;
+            this.providers = providers;
+        }
+
+        private void collect(CommandSender sender, String prefix, PermissionManager permissionManager, Completions completions) {
+            index.collect(sender, prefix, permissionManager, completions);
+            for (SuggestionProvider provider : providers) {
+                if (completions.isFull()) {
+                    return;
+                }
+                provider.collect(sender, prefix, completions);
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package dev.deltamc.deltalib.command.permission;
+
+import dev.deltamc.deltalib.integrations.LuckPermsIntegration;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CachingPermissionManager implements PermissionManager, Listener {
+
+    private final PermissionManager delegate;
+    private final PermissionNodeIndex nodes = new PermissionNodeIndex();
+    private final ConcurrentHashMap<UUID, PlayerPermissions> players = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingPermissionManager(PermissionManager delegate) {
+        this.delegate = delegate;
+    }
+
+    public void register(JavaPlugin plugin) {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        if (LuckPermsIntegration.isLuckPermsAvailable()) {
+            LuckPermsIntegration.onUserDataRecalculate(plugin, this::invalidate);
+            LuckPermsIntegration.onContextUpdate(plugin, this::invalidate);
+        }
+    }
+
+    @Override
+    public boolean hasPermission(CommandSender sender, String permission) {
+        if (!(sender instanceof Player)) {
+            return delegate.hasPermission(sender, permission);
+        }
+
+        PlayerPermissions cached = getPermissions((Player) sender);
+        int id = nodes.idOf(permission);
+        int state = cached.get(id);
+        if (state != PlayerPermissions.UNKNOWN) {
+            hits.increment();
+            return state == PlayerPermissions.ALLOWED;
+        }
+
+        misses.increment();
+        boolean result = delegate.hasPermission(sender, permission);
+        cached.set(id, result ? PlayerPermissions.ALLOWED : PlayerPermissions.DENIED);
+        return result;
+    }
+
+    @Override
+    public List<String> filterPermitted(CommandSender sender, Collection<String> permissions) {
+        if (!(sender instanceof Player)) {
+            return delegate.filterPermitted(sender, permissions);
+        }
+
+        PlayerPermissions cached = getPermissions((Player) sender);
+        List<String> permitted = new ArrayList<>(permissions.size());
+        List<String> unknown = null;
+        for (String permission : permissions) {
+            int state = cached.get(nodes.idOf(permission));
+            if (state == PlayerPermissions.UNKNOWN) {
+                if (unknown == null) {
+                    unknown = new ArrayList<>();
+                }
+                unknown.add(permission);
+            } else {
+                hits.increment();
+                if (state == PlayerPermissions.ALLOWED) {
+                    permitted.add(permission);
+                }
+            }
+        }
+        if (unknown == null) {
+            return permitted;
+        }
+
+        // Resolve every miss in one delegate call, then keep the caller's ordering
+        misses.add(unknown.size());
+        Set<String> resolved = new HashSet<>(delegate.filterPermitted(sender, unknown));
+        for (String permission : unknown) {
+            cached.set(nodes.idOf(permission), resolved.contains(permission) ? PlayerPermissions.ALLOWED : PlayerPermissions.DENIED);
+        }
+        permitted.clear();
+        for (String permission : permissions) {
+            if (cached.get(nodes.idOf(permission)) == PlayerPermissions.ALLOWED) {
+                permitted.add(permission);
+            }
+        }
+        return permitted;
+    }
+
+    @Override
+    public boolean hasAll(CommandSender sender, Collection<String> permissions) {
+        return filterPermitted(sender, permissions).size() == permissions.size();
+    }
+
+    @Override
+    public boolean hasAny(CommandSender sender, Collection<String> permissions) {
+        return !filterPermitted(sender, permissions).isEmpty();
+    }
+
+    private PlayerPermissions getPermissions(Player player) {
+        PlayerPermissions cached = players.get(player.getUniqueId());
+        boolean op = player.isOp();
+        if (cached != null && cached.op == op) {
+            return cached;
+        }
+        return players.compute(player.getUniqueId(),
+                (uuid, current) -> current != null && current.op == op ? current : new PlayerPermissions(op, nodes.size()));
+    }
+
+    public void invalidate(UUID uuid) {
+        players.remove(uuid);
+    }
+
+    public void invalidateAll() {
+        players.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0D : (double) hitCount / total;
+    }
+
+    public int getCachedPlayers() {
+        return players.size();
+    }
+
+    public PermissionManager getDelegate() {
+        return delegate;
+    }
+
+    // Two bits per interned node: 00 unknown, 10 denied, 11 allowed
+    private static final class PlayerPermissions {
+
+        static final int UNKNOWN = 0;
+        static final int DENIED = 2;
+        static final int ALLOWED = 3;
+
+        private final boolean op;
+        private volatile AtomicLongArray states;
+
+        private PlayerPermissions(boolean op, int expectedNodes) {
+            this.op = op;
+            this.states = new AtomicLongArray(Math.max(1, (expectedNodes + 31) >>> 5));
+        }
+
+        int get(int id) {
+            AtomicLongArray current = states;
+            int word = id >>> 5;
+            if (word >= current.length()) {
+                return UNKNOWN;
+            }
+            return (int) (current.get(word) >>> ((id & 31) << 1)) & 3;
+        }
+
+        void set(int id, int state) {
+            int word = id >>> 5;
+            AtomicLongArray current = states;
+            if (word >= current.length()) {
+                current = grow(word + 1);
+            }
+            int shift = (id & 31) << 1;
+            long previous;
+            long next;
+            do {
+                previous = current.get(word);
+                next = (previous & ~(3L << shift)) | ((long) state << shift);
+            } while (!current.compareAndSet(word, previous, next));
+        }
+
+        private synchronized AtomicLongArray grow(int words) {
+            AtomicLongArray current = states;
+            if (current.length() >= words) {
+                return current;
+            }
+            AtomicLongArray grown = new AtomicLongArray(Math.max(words, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            states = grown;
+            return grown;
+        }
+    }
+}
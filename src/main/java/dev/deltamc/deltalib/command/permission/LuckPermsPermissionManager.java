@@ -1,9 +1,15 @@
 package dev.deltamc.deltalib.command.permission;
 
 import dev.deltamc.deltalib.integrations.LuckPermsIntegration;
+import net.luckperms.api.cacheddata.CachedPermissionData;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 public class LuckPermsPermissionManager implements PermissionManager {
 
     @Override
@@ -13,4 +19,54 @@ public class LuckPermsPermissionManager implements PermissionManager {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<String> filterPermitted(CommandSender sender, Collection<String> permissions) {
+        CachedPermissionData data = getPermissionData(sender);
+        if (data == null) {
+            return Collections.emptyList();
+        }
+        List<String> permitted = new ArrayList<>(permissions.size());
+        for (String permission : permissions) {
+            if (data.checkPermission(permission).asBoolean()) {
+                permitted.add(permission);
+            }
+        }
+        return permitted;
+    }
+
+    @Override
+    public boolean hasAll(CommandSender sender, Collection<String> permissions) {
+        CachedPermissionData data = getPermissionData(sender);
+        if (data == null) {
+            return permissions.isEmpty();
+        }
+        for (String permission : permissions) {
+            if (!data.checkPermission(permission).asBoolean()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hasAny(CommandSender sender, Collection<String> permissions) {
+        CachedPermissionData data = getPermissionData(sender);
+        if (data == null) {
+            return false;
+        }
+        for (String permission : permissions) {
+            if (data.checkPermission(permission).asBoolean()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CachedPermissionData getPermissionData(CommandSender sender) {
+        if (sender instanceof Player) {
+            return LuckPermsIntegration.getPermissionData((Player) sender).orElse(null);
+        }
+        return null;
+    }
+}
@@ -2,6 +2,38 @@ package dev.deltamc.deltalib.command.permission;
 
 import org.bukkit.command.CommandSender;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public interface PermissionManager {
     boolean hasPermission(CommandSender sender, String permission);
-}
\ No newline at end of file
+
+    default List<String> filterPermitted(CommandSender sender, Collection<String> permissions) {
+        List<String> permitted = new ArrayList<>(permissions.size());
+        for (String permission : permissions) {
+            if (hasPermission(sender, permission)) {
+                permitted.add(permission);
+            }
+        }
+        return permitted;
+    }
+
+    default boolean hasAll(CommandSender sender, Collection<String> permissions) {
+        for (String permission : permissions) {
+            if (!hasPermission(sender, permission)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    default boolean hasAny(CommandSender sender, Collection<String> permissions) {
+        for (String permission : permissions) {
+            if (hasPermission(sender, permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,13 +1,37 @@
 package dev.deltamc.deltalib.command.permission;
 
 import dev.deltamc.deltalib.integrations.LuckPermsIntegration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Optional;
 
 public class PermissionManagerFactory {
 
+    private static CachingPermissionManager cachingPermissionManager;
+
     public static PermissionManager getPermissionManager() {
+        if (cachingPermissionManager != null) {
+            return cachingPermissionManager;
+        }
+        return createPermissionManager();
+    }
+
+    public static synchronized CachingPermissionManager enableCaching(JavaPlugin plugin) {
+        if (cachingPermissionManager == null) {
+            cachingPermissionManager = new CachingPermissionManager(createPermissionManager());
+            cachingPermissionManager.register(plugin);
+        }
+        return cachingPermissionManager;
+    }
+
+    public static Optional<CachingPermissionManager> getCachingPermissionManager() {
+        return Optional.ofNullable(cachingPermissionManager);
+    }
+
+    private static PermissionManager createPermissionManager() {
         if (LuckPermsIntegration.isLuckPermsAvailable()) {
             return new LuckPermsPermissionManager();
         }
         return new BukkitPermissionManager();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package dev.deltamc.deltalib.command.permission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class PermissionNodeIndex {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    int idOf(String node) {
+        Integer id = ids.get(node);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(node, key -> nextId.getAndIncrement());
+    }
+
+    int size() {
+        return nextId.get();
+    }
+}
@@ -0,0 +1,84 @@
+package dev.deltamc.deltalib.command.tree;
+
+import dev.deltamc.deltalib.command.completion.SuggestionProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CommandNode {
+
+    private final String name;
+    private final List<String> aliases;
+    private final boolean argument;
+    private final List<CommandNode> children = new ArrayList<>();
+    private String permission;
+    private SubcommandExecutor executor;
+    private SuggestionProvider suggestions;
+
+    private CommandNode(String name, List<String> aliases, boolean argument) {
+        this.name = name;
+        this.aliases = aliases;
+        this.argument = argument;
+    }
+
+    public static CommandNode literal(String name, String... aliases) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Literal name cannot be empty.");
+        }
+        return new CommandNode(name, Arrays.asList(aliases), false);
+    }
+
+    public static CommandNode argument(String name) {
+        return new CommandNode(name, Collections.emptyList(), true);
+    }
+
+    public CommandNode then(CommandNode... nodes) {
+        children.addAll(Arrays.asList(nodes));
+        return this;
+    }
+
+    public CommandNode permission(String permission) {
+        this.permission = permission;
+        return this;
+    }
+
+    public CommandNode executes(SubcommandExecutor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public CommandNode suggests(SuggestionProvider suggestions) {
+        this.suggestions = suggestions;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    public boolean isArgument() {
+        return argument;
+    }
+
+    public List<CommandNode> getChildren() {
+        return children;
+    }
+
+    public String getPermission() {
+        return permission;
+    }
+
+    public SubcommandExecutor getExecutor() {
+        return executor;
+    }
+
+    public SuggestionProvider getSuggestions() {
+        return suggestions;
+    }
+}
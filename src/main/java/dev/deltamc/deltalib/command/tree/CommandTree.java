@@ -0,0 +1,163 @@
+package dev.deltamc.deltalib.command.tree;
+
+import dev.deltamc.deltalib.command.completion.Completions;
+import dev.deltamc.deltalib.command.completion.SuggestionIndex;
+import dev.deltamc.deltalib.command.completion.SuggestionProvider;
+import dev.deltamc.deltalib.command.permission.PermissionManager;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CommandTree {
+
+    public enum Result {
+        SUCCESS,
+        FAILURE,
+        NO_PERMISSION,
+        NO_MATCH
+    }
+
+    private final Node root;
+
+    private CommandTree(Node root) {
+        this.root = root;
+    }
+
+    public static final class Match {
+
+        private static final Match NO_PERMISSION = new Match(Result.NO_PERMISSION, null);
+        private static final Match NO_MATCH = new Match(Result.NO_MATCH, null);
+
+        private final Result result;
+        private final SubcommandExecutor executor;
+
+        private Match(Result result, SubcommandExecutor executor) {
+            this.result = result;
+            this.executor = executor;
+        }
+
+        // SUCCESS when an executor was found, otherwise NO_PERMISSION or NO_MATCH
+        public Result getResult() {
+            return result;
+        }
+
+        public SubcommandExecutor getExecutor() {
+            return executor;
+        }
+    }
+
+    public static CommandTree compile(List<CommandNode> nodes) {
+        return compile(null, null, nodes);
+    }
+
+    // The root executor runs when no arguments are given
+    public static CommandTree compile(String rootPermission, SubcommandExecutor rootExecutor, List<CommandNode> nodes) {
+        return new CommandTree(compileNode(rootPermission, rootExecutor, null, nodes));
+    }
+
+    public Result dispatch(CommandSender sender, String label, String[] args, PermissionManager permissionManager) {
+        Match match = resolve(sender, args, permissionManager);
+        if (match.executor == null) {
+            return match.result;
+        }
+        return match.executor.execute(sender, label, args) ? Result.SUCCESS : Result.FAILURE;
+    }
+
+    // Walks the tree and checks every permission on the way without executing, so it can run on the main thread
+    public Match resolve(CommandSender sender, String[] args, PermissionManager permissionManager) {
+        Node node = root;
+        if (args.length == 0 && root.permission != null && !permissionManager.hasPermission(sender, root.permission)) {
+            return Match.NO_PERMISSION;
+        }
+        for (String arg : args) {
+            Node next = node.literals != null ? node.literals.get(arg) : null;
+            if (next == null) {
+                next = node.argument;
+            }
+            // Leftover input that no node accepts goes to the handler instead of running the deepest match
+            if (next == null) {
+                return Match.NO_MATCH;
+            }
+            if (next.permission != null && !permissionManager.hasPermission(sender, next.permission)) {
+                return Match.NO_PERMISSION;
+            }
+            node = next;
+        }
+
+        return node.executor == null ? Match.NO_MATCH : new Match(Result.SUCCESS, node.executor);
+    }
+
+    public void complete(CommandSender sender, String[] args, PermissionManager permissionManager, Completions completions) {
+        Node node = root;
+        for (int i = 0; i < args.length - 1; i++) {
+            Node next = node.literals != null ? node.literals.get(args[i]) : null;
+            if (next == null) {
+                next = node.argument;
+            }
+            if (next == null || (next.permission != null && !permissionManager.hasPermission(sender, next.permission))) {
+                return;
+            }
+            node = next;
+        }
+
+        String prefix = args[args.length - 1];
+        if (node.suggestions != null) {
+            node.suggestions.collect(sender, prefix, permissionManager, completions);
+        }
+        Node argument = node.argument;
+        if (argument != null && argument.provider != null && !completions.isFull()
+                && (argument.permission == null || permissionManager.hasPermission(sender, argument.permission))) {
+            argument.provider.collect(sender, prefix, completions);
+        }
+    }
+
+    private static Node compileNode(String permission, SubcommandExecutor executor, SuggestionProvider provider,
+                                    List<CommandNode> children) {
+        List<String> names = new ArrayList<>();
+        List<Node> literalNodes = new ArrayList<>();
+        SuggestionIndex.Builder suggestions = new SuggestionIndex.Builder();
+        Node argument = null;
+
+        for (CommandNode child : children) {
+            Node compiled = compileNode(child.getPermission(), child.getExecutor(), child.getSuggestions(), child.getChildren());
+            if (child.isArgument()) {
+                if (argument != null) {
+                    throw new IllegalStateException("Only one argument node is allowed per level: " + child.getName());
+                }
+                argument = compiled;
+                continue;
+            }
+            names.add(child.getName());
+            literalNodes.add(compiled);
+            suggestions.add(child.getName(), child.getPermission());
+            for (String alias : child.getAliases()) {
+                names.add(alias);
+                literalNodes.add(compiled);
+            }
+        }
+
+        LiteralTable literals = names.isEmpty() ? null : new LiteralTable(names, literalNodes);
+        SuggestionIndex index = names.isEmpty() ? null : suggestions.build();
+        return new Node(permission, executor, provider, literals, index, argument);
+    }
+
+    static final class Node {
+        final String permission;
+        final SubcommandExecutor executor;
+        final SuggestionProvider provider;
+        final LiteralTable literals;
+        final SuggestionIndex suggestions;
+        final Node argument;
+
+        Node(String permission, SubcommandExecutor executor, SuggestionProvider provider, LiteralTable literals,
+             SuggestionIndex suggestions, Node argument) {
+            this.permission = permission;
+            this.executor = executor;
+            this.provider = provider;
+            this.literals = literals;
+            this.suggestions = suggestions;
+            this.argument = argument;
+        }
+    }
+}
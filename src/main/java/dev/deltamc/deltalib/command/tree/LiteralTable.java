@@ -0,0 +1,59 @@
+package dev.deltamc.deltalib.command.tree;
+
+import java.util.List;
+
+// Case-insensitive open-addressing table, lookups never allocate a lower-cased copy of the argument
+final class LiteralTable {
+
+    private final String[] keys;
+    private final CommandTree.Node[] values;
+    private final int mask;
+
+    LiteralTable(List<String> names, List<CommandTree.Node> nodes) {
+        int capacity = Integer.highestOneBit(Math.max(2, names.size() * 2) - 1) << 1;
+        this.keys = new String[capacity];
+        this.values = new CommandTree.Node[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < names.size(); i++) {
+            String key = lowerCase(names.get(i));
+            int index = hash(key) & mask;
+            while (keys[index] != null) {
+                if (keys[index].equals(key)) {
+                    throw new IllegalStateException("Duplicate subcommand literal: " + names.get(i));
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = nodes.get(i);
+        }
+    }
+
+    CommandTree.Node get(String literal) {
+        int index = hash(literal) & mask;
+        String key;
+        while ((key = keys[index]) != null) {
+            if (key.equalsIgnoreCase(literal)) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    private static int hash(String value) {
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(value.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static String lowerCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,8 @@
+package dev.deltamc.deltalib.command.tree;
+
+import org.bukkit.command.CommandSender;
+
+@FunctionalInterface
+public interface SubcommandExecutor {
+    boolean execute(CommandSender sender, String label, String[] args);
+}
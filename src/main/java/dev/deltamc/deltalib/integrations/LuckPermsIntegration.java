@@ -1,19 +1,42 @@
 package dev.deltamc.deltalib.integrations;
 
 import net.luckperms.api.LuckPerms;
+import net.luckperms.api.cacheddata.CachedPermissionData;
+import net.luckperms.api.event.context.ContextUpdateEvent;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
 import net.luckperms.api.model.user.User;
 import net.luckperms.api.query.QueryOptions;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import dev.deltamc.deltalib.utils.chat.ChatUtils;
 
 public class LuckPermsIntegration {
 
     private static LuckPerms luckPerms;
+    private static boolean registered;
+
+    private static final long USER_CACHE_TTL = TimeUnit.MINUTES.toMillis(5);
+    private static final int USER_CACHE_SIZE = 2048;
+    private static final ConcurrentHashMap<UUID, CompletableFuture<User>> LOADING = new ConcurrentHashMap<>();
+    private static final Map<UUID, CachedUser> USER_CACHE = new LinkedHashMap<UUID, CachedUser>(64, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, CachedUser> eldest) {
+            return size() > USER_CACHE_SIZE;
+        }
+    };
 
     static {
         Plugin plugin = Bukkit.getPluginManager().getPlugin("LuckPerms");
@@ -41,7 +64,126 @@ public class LuckPermsIntegration {
         ).orElse(false);
     }
 
+    public static Optional<CachedPermissionData> getPermissionData(Player player) {
+        return getUser(player).map(user -> user.getCachedData().getPermissionData(QueryOptions.defaultContextualOptions()));
+    }
+
     public static Optional<String> getPrimaryGroup(Player player) {
         return getUser(player).map(User::getPrimaryGroup);
     }
-}
\ No newline at end of file
+
+    public static CompletableFuture<Optional<User>> loadUser(UUID uuid) {
+        if (luckPerms == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        User loaded = luckPerms.getUserManager().getUser(uuid);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(Optional.of(loaded));
+        }
+
+        synchronized (USER_CACHE) {
+            CachedUser cached = USER_CACHE.get(uuid);
+            if (cached != null) {
+                if (cached.expiresAt > System.currentTimeMillis()) {
+                    return CompletableFuture.completedFuture(Optional.of(cached.user));
+                }
+                USER_CACHE.remove(uuid);
+            }
+        }
+
+        // Concurrent requests for the same UUID share a single storage load
+        CompletableFuture<User> created = new CompletableFuture<>();
+        CompletableFuture<User> pending = LOADING.putIfAbsent(uuid, created);
+        if (pending == null) {
+            pending = created;
+            luckPerms.getUserManager().loadUser(uuid).whenComplete((user, error) -> {
+                if (user != null) {
+                    synchronized (USER_CACHE) {
+                        USER_CACHE.put(uuid, new CachedUser(user, System.currentTimeMillis() + USER_CACHE_TTL));
+                    }
+                }
+                LOADING.remove(uuid, created);
+                if (error != null) {
+                    ChatUtils.send(Level.WARNING, "Failed to load LuckPerms user " + uuid + ": " + error.getMessage());
+                    created.completeExceptionally(error);
+                } else {
+                    created.complete(user);
+                }
+            });
+        }
+        return pending.thenApply(Optional::ofNullable);
+    }
+
+    // LuckPerms has no bulk load, so this fans out to loadUser and only saves the caller from joining the futures
+    public static CompletableFuture<Map<UUID, User>> loadUsers(Collection<UUID> uuids) {
+        Map<UUID, CompletableFuture<Optional<User>>> futures = new HashMap<>();
+        for (UUID uuid : uuids) {
+            futures.computeIfAbsent(uuid, LuckPermsIntegration::loadUser);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).handle((ignored, error) -> {
+            Map<UUID, User> users = new HashMap<>();
+            futures.forEach((uuid, future) -> {
+                Optional<User> user = future.isCompletedExceptionally() ? Optional.empty() : future.join();
+                user.ifPresent(value -> users.put(uuid, value));
+            });
+            return users;
+        });
+    }
+
+    public static CompletableFuture<Boolean> hasPermission(UUID uuid, String permission) {
+        return loadUser(uuid).thenApply(user -> user.map(value ->
+                value.getCachedData()
+                        .getPermissionData(QueryOptions.defaultContextualOptions())
+                        .checkPermission(permission).asBoolean()
+        ).orElse(false));
+    }
+
+    public static CompletableFuture<Optional<String>> getPrimaryGroup(UUID uuid) {
+        return loadUser(uuid).thenApply(user -> user.map(User::getPrimaryGroup));
+    }
+
+    public static CompletableFuture<Map<UUID, String>> getPrimaryGroups(Collection<UUID> uuids) {
+        return loadUsers(uuids).thenApply(users -> {
+            Map<UUID, String> groups = new HashMap<>();
+            users.forEach((uuid, user) -> groups.put(uuid, user.getPrimaryGroup()));
+            return groups;
+        });
+    }
+
+    public static void invalidateUser(UUID uuid) {
+        synchronized (USER_CACHE) {
+            USER_CACHE.remove(uuid);
+        }
+    }
+
+    // Drops cached offline users as soon as LuckPerms recalculates their data
+    public static synchronized void register(Plugin plugin) {
+        if (luckPerms == null || registered) {
+            return;
+        }
+        onUserDataRecalculate(plugin, LuckPermsIntegration::invalidateUser);
+        registered = true;
+    }
+
+    public static void onUserDataRecalculate(Plugin plugin, Consumer<UUID> listener) {
+        luckPerms.getEventBus().subscribe(plugin, UserDataRecalculateEvent.class,
+                event -> listener.accept(event.getUser().getUniqueId()));
+    }
+
+    // Fires when a player's contexts change, e.g. switching world, which can flip context-dependent permissions
+    public static void onContextUpdate(Plugin plugin, Consumer<UUID> listener) {
+        luckPerms.getEventBus().subscribe(plugin, ContextUpdateEvent.class,
+                event -> event.getSubject(Player.class).ifPresent(player -> listener.accept(player.getUniqueId())));
+    }
+
+    private static final class CachedUser {
+        private final User user;
+        private final long expiresAt;
+
+        private CachedUser(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
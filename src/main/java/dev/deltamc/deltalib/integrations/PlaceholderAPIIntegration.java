@@ -1,17 +1,43 @@
 package dev.deltamc.deltalib.integrations;
 
+import dev.deltamc.deltalib.analytics.LatencyHistogram;
 import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 import dev.deltamc.deltalib.utils.chat.ChatUtils;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
+import java.util.regex.Matcher;
 
 public class PlaceholderAPIIntegration {
 
     private static boolean isPlaceholderAPIAvailable = false;
 
+    // TTLs keyed by full identifier ("vault_eco_balance") or by expansion ("vault"), the expansion part is lowercase
+    private static final Map<String, Long> TTLS = new ConcurrentHashMap<>();
+    private static final Set<String> GLOBAL = ConcurrentHashMap.newKeySet();
+    private static final Set<String> THREAD_SAFE = ConcurrentHashMap.newKeySet();
+    private static final Map<UUID, ResultCache> PLAYER_CACHES = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> RESOLVE_TIMES = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static volatile int maxEntries = 256;
+    private static volatile ResultCache globalCache = new ResultCache(maxEntries);
+    private static boolean listenerRegistered = false;
+    private static volatile boolean statsEnabled = false;
+
     static {
         Plugin plugin = Bukkit.getPluginManager().getPlugin("PlaceholderAPI");
         if (plugin != null && plugin.isEnabled()) {
@@ -22,9 +48,234 @@ public class PlaceholderAPIIntegration {
     }
 
     public static String parsePlaceholders(Player player, String message) {
-        if (isPlaceholderAPIAvailable) {
+        if (!isPlaceholderAPIAvailable) {
+            return message;
+        }
+        if (TTLS.isEmpty() || message.indexOf('%') < 0) {
             return PlaceholderAPI.setPlaceholders(player, message);
         }
-        return message;
+
+        Matcher matcher = PlaceholderAPI.getPlaceholderPattern().matcher(message);
+        StringBuilder builder = null;
+        int last = 0;
+        while (matcher.find()) {
+            if (builder == null) {
+                builder = new StringBuilder(message.length() + 16);
+            }
+            builder.append(message, last, matcher.start());
+            builder.append(resolvePlaceholder(player, matcher.group()));
+            last = matcher.end();
+        }
+        if (builder == null) {
+            return message;
+        }
+        return builder.append(message, last, message.length()).toString();
+    }
+
+    // Resolves a single "%identifier%" token, served from the cache when its identifier has a TTL
+    public static String resolvePlaceholder(Player player, String placeholder) {
+        if (!isPlaceholderAPIAvailable) {
+            return placeholder;
+        }
+
+        // Only the expansion is case-insensitive, parameters like %server_time_HH:mm% keep their case in the cache key
+        String identifier = normalise(placeholder.substring(1, placeholder.length() - 1));
+        String expansion = getExpansion(identifier);
+        Long ttl = TTLS.isEmpty() ? null : TTLS.getOrDefault(identifier, TTLS.get(expansion));
+        if (ttl == null) {
+            return resolve(player, placeholder, expansion);
+        }
+
+        ResultCache cache;
+        if (matches(GLOBAL, identifier)) {
+            cache = globalCache;
+        } else if (player != null) {
+            cache = PLAYER_CACHES.computeIfAbsent(player.getUniqueId(), uuid -> new ResultCache(maxEntries));
+        } else {
+            return resolve(player, placeholder, expansion);
+        }
+
+        long now = System.nanoTime();
+        String cached = cache.get(identifier, now);
+        if (cached != null) {
+            if (statsEnabled) {
+                HITS.increment();
+            }
+            return cached;
+        }
+        if (statsEnabled) {
+            MISSES.increment();
+        }
+        String value = resolve(player, placeholder, expansion);
+        cache.put(identifier, value, now + TimeUnit.MILLISECONDS.toNanos(ttl));
+        return value;
+    }
+
+    private static String normalise(String identifier) {
+        int underscore = identifier.indexOf('_');
+        int end = underscore > 0 ? underscore : identifier.length();
+        for (int i = 0; i < end; i++) {
+            if (Character.isUpperCase(identifier.charAt(i))) {
+                return identifier.substring(0, end).toLowerCase() + identifier.substring(end);
+            }
+        }
+        return identifier;
+    }
+
+    private static String getExpansion(String identifier) {
+        int underscore = identifier.indexOf('_');
+        return (underscore > 0 ? identifier.substring(0, underscore) : identifier).toLowerCase();
+    }
+
+    private static boolean matches(Set<String> identifiers, String identifier) {
+        return !identifiers.isEmpty()
+                && (identifiers.contains(normalise(identifier)) || identifiers.contains(getExpansion(identifier)));
+    }
+
+    // True when the "%identifier%" token renders the same for every viewer
+    public static boolean isGlobal(String placeholder) {
+        return matches(GLOBAL, placeholder.substring(1, placeholder.length() - 1));
+    }
+
+    // True when the token's expansion is known to be safe to resolve off the main thread
+    public static boolean isThreadSafe(String placeholder) {
+        return matches(THREAD_SAFE, placeholder.substring(1, placeholder.length() - 1));
+    }
+
+    private static String resolve(Player player, String placeholder, String expansion) {
+        if (!statsEnabled) {
+            return PlaceholderAPI.setPlaceholders(player, placeholder);
+        }
+        long start = System.nanoTime();
+        String value = PlaceholderAPI.setPlaceholders(player, placeholder);
+        RESOLVE_TIMES.computeIfAbsent(expansion, key -> new LatencyHistogram()).record(System.nanoTime() - start);
+        return value;
+    }
+
+    public static void setCacheTTL(String identifier, long millis) {
+        if (millis > 0) {
+            TTLS.put(normalise(identifier), millis);
+        } else {
+            TTLS.remove(normalise(identifier));
+        }
+    }
+
+    // Marks placeholders that render the same for every viewer, they share one cache entry
+    public static void setGlobal(String identifier, boolean global) {
+        if (global) {
+            GLOBAL.add(normalise(identifier));
+        } else {
+            GLOBAL.remove(normalise(identifier));
+        }
+    }
+
+    public static void setThreadSafe(String identifier, boolean threadSafe) {
+        if (threadSafe) {
+            THREAD_SAFE.add(normalise(identifier));
+        } else {
+            THREAD_SAFE.remove(normalise(identifier));
+        }
+    }
+
+    public static void setMaxCacheEntries(int entries) {
+        maxEntries = Math.max(1, entries);
+        globalCache = new ResultCache(maxEntries);
+        PLAYER_CACHES.clear();
+    }
+
+    public static synchronized void registerCache(Plugin plugin) {
+        if (listenerRegistered) {
+            return;
+        }
+        Bukkit.getPluginManager().registerEvents(new Listener() {
+            @EventHandler
+            public void onQuit(PlayerQuitEvent event) {
+                invalidate(event.getPlayer().getUniqueId());
+            }
+        }, plugin);
+        listenerRegistered = true;
+    }
+
+    public static void invalidate(UUID uuid) {
+        PLAYER_CACHES.remove(uuid);
+    }
+
+    public static void invalidateAll() {
+        PLAYER_CACHES.clear();
+        globalCache = new ResultCache(maxEntries);
+    }
+
+    // Hit counters and per-expansion resolve times, off by default to keep the uncached path free of bookkeeping
+    public static void setStatsEnabled(boolean enabled) {
+        statsEnabled = enabled;
+    }
+
+    public static boolean isStatsEnabled() {
+        return statsEnabled;
+    }
+
+    public static long getCacheHits() {
+        return HITS.sum();
+    }
+
+    public static long getCacheMisses() {
+        return MISSES.sum();
+    }
+
+    public static double getHitRate() {
+        long hits = HITS.sum();
+        long total = hits + MISSES.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public static Map<String, LatencyHistogram> getResolveTimes() {
+        return Collections.unmodifiableMap(RESOLVE_TIMES);
+    }
+
+    public static void resetStats() {
+        HITS.reset();
+        MISSES.reset();
+        RESOLVE_TIMES.values().forEach(LatencyHistogram::reset);
+    }
+
+    private static final class ResultCache {
+
+        private final Map<String, CachedResult> entries;
+
+        ResultCache(int maxEntries) {
+            this.entries = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized String get(String identifier, long now) {
+            CachedResult result = entries.get(identifier);
+            if (result == null) {
+                return null;
+            }
+            if (now - result.expiresAt >= 0) {
+                entries.remove(identifier);
+                return null;
+            }
+            return result.value;
+        }
+
+        synchronized void put(String identifier, String value, long expiresAt) {
+            entries.put(identifier, new CachedResult(value, expiresAt));
+        }
+    }
+
+    private static final class CachedResult {
+
+        private final String value;
+        private final long expiresAt;
+
+        CachedResult(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
     }
 }
@@ -0,0 +1,101 @@
+package dev.deltamc.deltalib.utils.chat;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+// Hands log records to a daemon thread so slow consoles never stall the caller, dropping under floods
+final class AsyncLogger {
+
+    private static final int CAPACITY = 4096;
+
+    private final Logger logger;
+    private final BlockingQueue<LogRecord> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private long reportedDrops;
+    private volatile Thread worker;
+    private volatile boolean running = true;
+
+    AsyncLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    boolean isLoggable(Level level) {
+        return logger.isLoggable(level);
+    }
+
+    void log(Level level, String message) {
+        LogRecord record = new LogRecord(level, message);
+        record.setLoggerName(logger.getName());
+        if (!running) {
+            logger.log(record);
+            return;
+        }
+        ensureStarted();
+        if (!queue.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    private void ensureStarted() {
+        if (worker != null) {
+            return;
+        }
+        synchronized (this) {
+            if (worker == null && running) {
+                Thread thread = new Thread(this::drain, "DeltaLib-Logger");
+                thread.setDaemon(true);
+                thread.start();
+                worker = thread;
+            }
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                LogRecord record = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (record != null) {
+                    logger.log(record);
+                }
+                reportDrops();
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    private void reportDrops() {
+        long total = dropped.sum();
+        if (total > reportedDrops) {
+            logger.log(Level.WARNING, "[DeltaLib] Dropped " + (total - reportedDrops) + " log messages, the log queue was full.");
+            reportedDrops = total;
+        }
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    // Stops the worker and writes out whatever is still queued on the calling thread
+    synchronized void shutdown() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        LogRecord record;
+        while ((record = queue.poll()) != null) {
+            logger.log(record);
+        }
+    }
+}
@@ -1,52 +1,144 @@
 package dev.deltamc.deltalib.utils.chat;
 
-import dev.deltamc.deltalib.integrations.PlaceholderAPIIntegration;
-import org.bukkit.ChatColor;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 public class ChatUtils {
 
-    private static final Logger LOGGER = Logger.getLogger("Minecraft");
+    private static final AsyncLogger LOGGER = new AsyncLogger(Logger.getLogger("Minecraft"));
+    private static final int PARALLEL_THRESHOLD = 64;
     private static JavaPlugin plugin;
+    private static String prefix = "[DeltaLib] ";
+    private static ExecutorService broadcastPool;
 
     public static void initialize(JavaPlugin javaPlugin) {
         plugin = javaPlugin;
+        prefix = "[" + javaPlugin.getName() + "] ";
     }
 
     public static String send(Level level, String message) {
-        if (plugin != null) {
-            LOGGER.log(level, "[" + plugin.getName() + "] " + message);
-        } else {
-            LOGGER.log(level, "[DeltaLib] " + message);
+        if (LOGGER.isLoggable(level)) {
+            LOGGER.log(level, prefix + message);
         }
         return message;
     }
 
+    // The message is only built when the level is enabled
+    public static void send(Level level, Supplier<String> message) {
+        if (LOGGER.isLoggable(level)) {
+            LOGGER.log(level, prefix + message.get());
+        }
+    }
+
+    public static long getDroppedLogMessages() {
+        return LOGGER.getDropped();
+    }
+
+    // Flushes queued log messages and stops background workers, call last when disabling
+    public static void shutdown() {
+        synchronized (ChatUtils.class) {
+            if (broadcastPool != null) {
+                broadcastPool.shutdown();
+                broadcastPool = null;
+            }
+        }
+        LOGGER.shutdown();
+    }
+
 
     public static String colour(Player player, String message) {
-        message = PlaceholderAPIIntegration.parsePlaceholders(player, message);
-        return ChatColor.translateAlternateColorCodes('&', message);
+        return MessageTemplate.compile(message).render(player);
+    }
+
+    public static void broadcast(String message) {
+        broadcast(Bukkit.getOnlinePlayers(), message);
+    }
+
+    // Renders the shared part once, then only the per-viewer placeholders for each recipient
+    // Always delivered immediately on the calling thread, large audiences are rendered in parallel first
+    public static void broadcast(Collection<? extends Player> players, String message) {
+        MessageTemplate template = MessageTemplate.compile(message).resolveShared();
+        if (!template.hasPlaceholders()) {
+            String line = template.render(null);
+            for (Player player : players) {
+                player.sendMessage(line);
+            }
+            return;
+        }
+        if (players.size() < PARALLEL_THRESHOLD || !template.isThreadSafe()) {
+            for (Player player : players) {
+                player.sendMessage(template.render(player));
+            }
+            return;
+        }
+
+        List<Player> recipients = new ArrayList<>(players);
+        String[] lines = new String[recipients.size()];
+        ExecutorService pool = getBroadcastPool();
+        int workers = Runtime.getRuntime().availableProcessors();
+        int chunk = (recipients.size() + workers - 1) / workers;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int from = 0; from < recipients.size(); from += chunk) {
+            int start = from;
+            int end = Math.min(from + chunk, recipients.size());
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) {
+                    lines[i] = template.render(recipients.get(i));
+                }
+            }, pool));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            send(Level.WARNING, "Failed to render broadcast: " + e.getCause().getMessage());
+            return;
+        }
+        for (int i = 0; i < lines.length; i++) {
+            recipients.get(i).sendMessage(lines[i]);
+        }
+    }
+
+    private static synchronized ExecutorService getBroadcastPool() {
+        if (broadcastPool == null) {
+            AtomicInteger counter = new AtomicInteger();
+            broadcastPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "DeltaLib-Broadcast-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return broadcastPool;
     }
 
     public static List<String> colourList(Player player, List<String> messages) {
-        return messages.stream()
-                .map(message -> colour(player, message))
-                .collect(Collectors.toList());
+        List<String> coloured = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            coloured.add(colour(player, message));
+        }
+        return coloured;
     }
 
     public static String colour2 (String message) {
-        return net.md_5.bungee.api.ChatColor.translateAlternateColorCodes('&', message);
+        return ColourUtils.translate(message);
     }
 
     public static List<String> colour2List(List<String> messages) {
         return messages.stream()
-                .map(message -> net.md_5.bungee.api.ChatColor.translateAlternateColorCodes('&', message))
+                .map(ColourUtils::translate)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,218 @@
+package dev.deltamc.deltalib.utils.chat;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ColourUtils {
+
+    private static final char COLOUR_CHAR = '\u00A7';
+    private static final Pattern HEX = Pattern.compile("&#([0-9a-fA-F]{6})");
+    private static final Pattern GRADIENT = Pattern.compile("<gradient:(#[0-9a-fA-F]{6}(?::#[0-9a-fA-F]{6})+)>(.*?)</gradient>");
+    private static final Pattern RAINBOW = Pattern.compile("<rainbow>(.*?)</rainbow>");
+    private static final int MAX_CACHED = 512;
+    private static final Map<String, String> GRADIENTS = Collections.synchronizedMap(new LinkedHashMap<String, String>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_CACHED;
+        }
+    });
+
+    // Colours available before 1.16, in the order of their codes 0-f
+    private static final int[] LEGACY_RGB = {
+            0x000000, 0x0000AA, 0x00AA00, 0x00AAAA, 0xAA0000, 0xAA00AA, 0xFFAA00, 0xAAAAAA,
+            0x555555, 0x5555FF, 0x55FF55, 0x55FFFF, 0xFF5555, 0xFF55FF, 0xFFFF55, 0xFFFFFF
+    };
+    private static final String LEGACY_CODES = "0123456789abcdef";
+
+    private static final boolean HEX_SUPPORTED = detectHexSupport();
+
+    private static boolean detectHexSupport() {
+        try {
+            String[] version = Bukkit.getBukkitVersion().split("-")[0].split("\\.");
+            return Integer.parseInt(version[0]) > 1 || Integer.parseInt(version[1]) >= 16;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    public static boolean isHexSupported() {
+        return HEX_SUPPORTED;
+    }
+
+    // Translates gradient and rainbow tags, &#RRGGBB and legacy & codes
+    public static String translate(String message) {
+        if (message.indexOf('<') >= 0) {
+            message = translateGradients(message);
+        }
+        if (message.indexOf('#') >= 0) {
+            Matcher matcher = HEX.matcher(message);
+            if (matcher.find()) {
+                StringBuffer buffer = new StringBuffer(message.length() + 32);
+                do {
+                    matcher.appendReplacement(buffer, toColourCode(Integer.parseInt(matcher.group(1), 16)));
+                } while (matcher.find());
+                message = matcher.appendTail(buffer).toString();
+            }
+        }
+        return ChatColor.translateAlternateColorCodes('&', message);
+    }
+
+    private static String translateGradients(String message) {
+        Matcher matcher = GRADIENT.matcher(message);
+        if (matcher.find()) {
+            StringBuffer buffer = new StringBuffer(message.length() * 4);
+            do {
+                String key = matcher.group(1) + '\0' + matcher.group(2);
+                String rendered = GRADIENTS.get(key);
+                if (rendered == null) {
+                    rendered = gradient(matcher.group(2), parseStops(matcher.group(1)));
+                    GRADIENTS.put(key, rendered);
+                }
+                matcher.appendReplacement(buffer, Matcher.quoteReplacement(rendered));
+            } while (matcher.find());
+            message = matcher.appendTail(buffer).toString();
+        }
+
+        matcher = RAINBOW.matcher(message);
+        if (matcher.find()) {
+            StringBuffer buffer = new StringBuffer(message.length() * 4);
+            do {
+                String key = "rainbow\0" + matcher.group(1);
+                String rendered = GRADIENTS.get(key);
+                if (rendered == null) {
+                    rendered = rainbow(matcher.group(1));
+                    GRADIENTS.put(key, rendered);
+                }
+                matcher.appendReplacement(buffer, Matcher.quoteReplacement(rendered));
+            } while (matcher.find());
+            message = matcher.appendTail(buffer).toString();
+        }
+        return message;
+    }
+
+    private static int[] parseStops(String stops) {
+        String[] parts = stops.split(":");
+        int[] colours = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            colours[i] = Integer.parseInt(parts[i].substring(1), 16);
+        }
+        return colours;
+    }
+
+    public static String gradient(String text, int... stops) {
+        int length = countVisible(text);
+        return colourise(text, index -> {
+            if (length <= 1) {
+                return stops[0];
+            }
+            double position = (double) index / (length - 1) * (stops.length - 1);
+            int stop = Math.min((int) position, stops.length - 2);
+            return interpolate(stops[stop], stops[stop + 1], position - stop);
+        });
+    }
+
+    public static String rainbow(String text) {
+        int length = Math.max(1, countVisible(text));
+        return colourise(text, index -> Color.HSBtoRGB((float) index / length, 1F, 1F) & 0xFFFFFF);
+    }
+
+    private static int interpolate(int from, int to, double ratio) {
+        int red = (int) Math.round(((from >> 16) & 0xFF) + (((to >> 16) & 0xFF) - ((from >> 16) & 0xFF)) * ratio);
+        int green = (int) Math.round(((from >> 8) & 0xFF) + (((to >> 8) & 0xFF) - ((from >> 8) & 0xFF)) * ratio);
+        int blue = (int) Math.round((from & 0xFF) + ((to & 0xFF) - (from & 0xFF)) * ratio);
+        return (red << 16) | (green << 8) | blue;
+    }
+
+    private interface ColourFunction {
+        int colourAt(int index);
+    }
+
+    // Colours every visible character, re-applying formatting codes since each colour code resets them
+    private static String colourise(String text, ColourFunction colours) {
+        StringBuilder builder = new StringBuilder(text.length() * 14);
+        List<Character> formats = new ArrayList<>(2);
+        int index = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c == '&' || c == COLOUR_CHAR) && i + 1 < text.length()) {
+                char code = Character.toLowerCase(text.charAt(i + 1));
+                if ("klmno".indexOf(code) >= 0) {
+                    formats.add(code);
+                    i++;
+                    continue;
+                }
+                if (code == 'r') {
+                    formats.clear();
+                    i++;
+                    continue;
+                }
+            }
+
+            int rgb = colours.colourAt(index++);
+            // Plain spaces show no colour, so they don't need a code of their own
+            if (c != ' ' || !formats.isEmpty()) {
+                builder.append(toColourCode(rgb));
+                for (char format : formats) {
+                    builder.append(COLOUR_CHAR).append(format);
+                }
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private static int countVisible(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c == '&' || c == COLOUR_CHAR) && i + 1 < text.length()
+                    && "klmnor".indexOf(Character.toLowerCase(text.charAt(i + 1))) >= 0) {
+                i++;
+                continue;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    // §x§R§R§G§G§B§B on 1.16+, otherwise the closest of the 16 legacy colours
+    public static String toColourCode(int rgb) {
+        if (!HEX_SUPPORTED) {
+            return String.valueOf(COLOUR_CHAR) + nearestLegacy(rgb);
+        }
+        String hex = String.format("%06x", rgb & 0xFFFFFF);
+        StringBuilder builder = new StringBuilder(14).append(COLOUR_CHAR).append('x');
+        for (int i = 0; i < hex.length(); i++) {
+            builder.append(COLOUR_CHAR).append(hex.charAt(i));
+        }
+        return builder.toString();
+    }
+
+    public static char nearestLegacy(int rgb) {
+        int red = (rgb >> 16) & 0xFF;
+        int green = (rgb >> 8) & 0xFF;
+        int blue = rgb & 0xFF;
+        int best = 0;
+        long bestDistance = Long.MAX_VALUE;
+        for (int i = 0; i < LEGACY_RGB.length; i++) {
+            int dr = red - ((LEGACY_RGB[i] >> 16) & 0xFF);
+            int dg = green - ((LEGACY_RGB[i] >> 8) & 0xFF);
+            int db = blue - (LEGACY_RGB[i] & 0xFF);
+            long distance = (long) dr * dr + (long) dg * dg + (long) db * db;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return LEGACY_CODES.charAt(best);
+    }
+}
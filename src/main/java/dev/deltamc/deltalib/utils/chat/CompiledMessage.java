@@ -0,0 +1,54 @@
+package dev.deltamc.deltalib.utils.chat;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+// A catalog entry ready to send, colours are already translated and placeholders pre-split
+public final class CompiledMessage {
+
+    private final String path;
+    private final MessageTemplate template;
+
+    CompiledMessage(String path, String message) {
+        this.path = path;
+        this.template = MessageTemplate.compile(message);
+    }
+
+    public static CompiledMessage of(String message) {
+        return new CompiledMessage(null, message);
+    }
+
+    public String render(CommandSender sender) {
+        return template.render(sender instanceof Player ? (Player) sender : null);
+    }
+
+    // Values are inserted as they are, they may come from players and must not carry formatting into the message
+    public String render(CommandSender sender, String placeholder, String value) {
+        return render(sender).replace(placeholder, value);
+    }
+
+    // For values the plugin controls, colour codes in them are translated before substitution
+    public String renderColoured(CommandSender sender, String placeholder, String value) {
+        return render(sender, placeholder, ColourUtils.translate(value));
+    }
+
+    public void send(CommandSender sender) {
+        sender.sendMessage(render(sender));
+    }
+
+    public void send(CommandSender sender, String placeholder, String value) {
+        sender.sendMessage(render(sender, placeholder, value));
+    }
+
+    public void sendColoured(CommandSender sender, String placeholder, String value) {
+        sender.sendMessage(renderColoured(sender, placeholder, value));
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getSource() {
+        return template.getSource();
+    }
+}
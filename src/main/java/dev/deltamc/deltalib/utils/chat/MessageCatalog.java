@@ -0,0 +1,164 @@
+package dev.deltamc.deltalib.utils.chat;
+
+import dev.dejvokep.boostedyaml.YamlDocument;
+import dev.deltamc.deltalib.utils.config.ConfigUtils;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+// Messages from a plugin file and its locale variants (settings_de_de.yml), compiled once and swapped on reload
+public class MessageCatalog {
+
+    private static final Map<String, MessageCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+    private final JavaPlugin plugin;
+    private final String fileName;
+    private final YamlDocument config;
+    private volatile Snapshot snapshot;
+
+    private MessageCatalog(JavaPlugin plugin, String fileName) {
+        this.plugin = plugin;
+        this.fileName = fileName;
+        this.config = ConfigUtils.createConfig(plugin, fileName);
+        this.snapshot = compile();
+    }
+
+    public static MessageCatalog of(JavaPlugin plugin, String fileName) {
+        return CATALOGS.computeIfAbsent(plugin.getName() + ":" + fileName, key -> new MessageCatalog(plugin, fileName));
+    }
+
+    public static Optional<MessageCatalog> get(JavaPlugin plugin, String fileName) {
+        return Optional.ofNullable(CATALOGS.get(plugin.getName() + ":" + fileName));
+    }
+
+    public YamlDocument getConfig() {
+        return config;
+    }
+
+    public Optional<CompiledMessage> get(String path) {
+        return Optional.ofNullable(snapshot.defaults.get(path));
+    }
+
+    public CompiledMessage get(String path, String fallback) {
+        CompiledMessage message = snapshot.defaults.get(path);
+        return message != null ? message : CompiledMessage.of(fallback);
+    }
+
+    // Picks the sender's locale, then its language, then the base file
+    public CompiledMessage get(CommandSender sender, String path, String fallback) {
+        Snapshot current = snapshot;
+        if (sender instanceof Player && !current.locales.isEmpty()) {
+            CompiledMessage message = current.resolve(((Player) sender).getLocale()).get(path);
+            if (message != null) {
+                return message;
+            }
+        }
+        CompiledMessage message = current.defaults.get(path);
+        return message != null ? message : CompiledMessage.of(fallback);
+    }
+
+    public void send(CommandSender sender, String path, String fallback) {
+        get(sender, path, fallback).send(sender);
+    }
+
+    public synchronized boolean reload() {
+        if (config != null) {
+            try {
+                config.reload();
+            } catch (IOException e) {
+                ChatUtils.send(Level.SEVERE, "Failed to reload messages " + fileName + ": " + e.getMessage());
+                return false;
+            }
+        }
+        snapshot = compile();
+        return true;
+    }
+
+    private Snapshot compile() {
+        if (config == null) {
+            return Snapshot.EMPTY;
+        }
+        Map<String, CompiledMessage> defaults = compile(config);
+
+        Map<String, Map<String, CompiledMessage>> locales = new HashMap<>();
+        File file = new File(plugin.getDataFolder(), fileName);
+        String prefix = file.getName().endsWith(".yml") ? file.getName().substring(0, file.getName().length() - 4) + "_" : file.getName() + "_";
+        File[] variants = file.getParentFile().listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(".yml"));
+        if (variants != null) {
+            for (File variant : variants) {
+                String name = variant.getName();
+                String locale = name.substring(prefix.length(), name.length() - 4).toLowerCase(Locale.ROOT);
+                try {
+                    Map<String, CompiledMessage> messages = new HashMap<>(defaults);
+                    messages.putAll(compile(YamlDocument.create(variant)));
+                    locales.put(locale, messages);
+                } catch (IOException e) {
+                    ChatUtils.send(Level.WARNING, "Failed to load messages " + name + ": " + e.getMessage());
+                }
+            }
+        }
+        return new Snapshot(defaults, locales);
+    }
+
+    private static Map<String, CompiledMessage> compile(YamlDocument document) {
+        Map<String, CompiledMessage> messages = new HashMap<>();
+        for (Map.Entry<String, Object> entry : document.getStringRouteMappedValues(true).entrySet()) {
+            if (entry.getValue() instanceof String) {
+                messages.put(entry.getKey(), new CompiledMessage(entry.getKey(), (String) entry.getValue()));
+            }
+        }
+        return messages;
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap());
+
+        private final Map<String, CompiledMessage> defaults;
+        private final Map<String, Map<String, CompiledMessage>> locales;
+        // Language fallbacks ("de" for "de_at") built from the loaded files only, client strings are never stored
+        private final Map<String, Map<String, CompiledMessage>> languages = new HashMap<>();
+
+        Snapshot(Map<String, CompiledMessage> defaults, Map<String, Map<String, CompiledMessage>> locales) {
+            this.defaults = defaults;
+            this.locales = locales;
+            for (Map.Entry<String, Map<String, CompiledMessage>> entry : locales.entrySet()) {
+                String key = entry.getKey();
+                int separator = key.indexOf('_');
+                if (separator < 0) {
+                    languages.put(key, entry.getValue());
+                } else {
+                    languages.putIfAbsent(key.substring(0, separator), entry.getValue());
+                }
+            }
+        }
+
+        Map<String, CompiledMessage> resolve(String locale) {
+            if (locale == null) {
+                return defaults;
+            }
+            Map<String, CompiledMessage> messages = locales.get(locale);
+            if (messages != null) {
+                return messages;
+            }
+            String normalized = locale.toLowerCase(Locale.ROOT);
+            messages = locales.get(normalized);
+            if (messages != null) {
+                return messages;
+            }
+            int separator = normalized.indexOf('_');
+            messages = languages.get(separator > 0 ? normalized.substring(0, separator) : normalized);
+            return messages != null ? messages : defaults;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package dev.deltamc.deltalib.utils.chat;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Collects outgoing messages during a tick and sends them once, keeping only the latest action bar and title
+public class MessageCoalescer {
+
+    private static final int RECENT_LINES = 16;
+    private static final Map<UUID, Pending> PENDING = new ConcurrentHashMap<>();
+    private static final Map<UUID, Map<String, Long>> RECENT = new ConcurrentHashMap<>();
+    private static volatile long dedupeWindowNanos = TimeUnit.SECONDS.toNanos(1);
+    private static volatile BukkitTask task;
+
+    public static synchronized void start(JavaPlugin plugin) {
+        if (task != null) {
+            return;
+        }
+        task = Bukkit.getScheduler().runTaskTimer(plugin, MessageCoalescer::flush, 1L, 1L);
+        Bukkit.getPluginManager().registerEvents(new Listener() {
+            @EventHandler
+            public void onQuit(PlayerQuitEvent event) {
+                PENDING.remove(event.getPlayer().getUniqueId());
+                RECENT.remove(event.getPlayer().getUniqueId());
+            }
+        }, plugin);
+    }
+
+    public static synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+            flush();
+            RECENT.clear();
+        }
+    }
+
+    // Identical chat lines sent to the same player within this window are only delivered once
+    public static void setDedupeWindow(long millis) {
+        dedupeWindowNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public static void actionBar(Player player, String message) {
+        if (task == null) {
+            sendActionBar(player, ChatUtils.colour(player, message));
+            return;
+        }
+        update(player, pending -> pending.actionBar = message);
+    }
+
+    public static void title(Player player, String title, String subtitle, int fadeIn, int stay, int fadeOut) {
+        String titleText = title == null ? "" : title;
+        String subtitleText = subtitle == null ? "" : subtitle;
+        if (task == null) {
+            player.sendTitle(ChatUtils.colour(player, titleText), ChatUtils.colour(player, subtitleText), fadeIn, stay, fadeOut);
+            return;
+        }
+        update(player, pending -> {
+            pending.title = titleText;
+            pending.subtitle = subtitleText;
+            pending.times = new int[]{fadeIn, stay, fadeOut};
+        });
+    }
+
+    public static void message(Player player, String message) {
+        // Dedupe history is only kept while running, the quit listener that clears it is registered by start
+        if (task == null) {
+            player.sendMessage(ChatUtils.colour(player, message));
+            return;
+        }
+        update(player, pending -> {
+            if (!pending.messages.contains(message)) {
+                pending.messages.add(message);
+            }
+        });
+    }
+
+    private static void update(Player player, Consumer<Pending> update) {
+        while (true) {
+            Pending pending = PENDING.computeIfAbsent(player.getUniqueId(), uuid -> new Pending());
+            synchronized (pending) {
+                // Lost a race with the flush, which has already sent this batch
+                if (pending.flushed) {
+                    continue;
+                }
+                update.accept(pending);
+                return;
+            }
+        }
+    }
+
+    private static void flush() {
+        if (PENDING.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        Iterator<Map.Entry<UUID, Pending>> iterator = PENDING.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Pending> entry = iterator.next();
+            iterator.remove();
+            Pending pending = entry.getValue();
+            Player player = Bukkit.getPlayer(entry.getKey());
+            synchronized (pending) {
+                pending.flushed = true;
+                if (player == null) {
+                    continue;
+                }
+                // Formatting happens here, so superseded updates never cost a placeholder lookup
+                for (String message : pending.messages) {
+                    if (!isDuplicate(entry.getKey(), message, now)) {
+                        player.sendMessage(ChatUtils.colour(player, message));
+                    }
+                }
+                if (pending.actionBar != null) {
+                    sendActionBar(player, ChatUtils.colour(player, pending.actionBar));
+                }
+                if (pending.title != null) {
+                    player.sendTitle(ChatUtils.colour(player, pending.title), ChatUtils.colour(player, pending.subtitle),
+                            pending.times[0], pending.times[1], pending.times[2]);
+                }
+            }
+        }
+    }
+
+    private static boolean isDuplicate(UUID uuid, String message, long now) {
+        Map<String, Long> recent = RECENT.computeIfAbsent(uuid, key -> new LinkedHashMap<String, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > RECENT_LINES;
+            }
+        });
+        synchronized (recent) {
+            Long sent = recent.get(message);
+            if (sent != null && now - sent < dedupeWindowNanos) {
+                return true;
+            }
+            recent.put(message, now);
+            return false;
+        }
+    }
+
+    private static void sendActionBar(Player player, String message) {
+        player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(message));
+    }
+
+    private static final class Pending {
+
+        private final List<String> messages = new ArrayList<>(2);
+        private boolean flushed;
+        private String actionBar;
+        private String title;
+        private String subtitle;
+        private int[] times;
+    }
+}
@@ -0,0 +1,196 @@
+package dev.deltamc.deltalib.utils.chat;
+
+import dev.deltamc.deltalib.integrations.PlaceholderAPIIntegration;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// A message parsed once into literal and placeholder segments, colours in literals are translated up front
+public final class MessageTemplate {
+
+    private static final int MAX_CACHED = 4096;
+    // Least recently used templates are dropped first, so a stream of one-off chat lines cannot evict hot ones
+    private static final Map<String, MessageTemplate> CACHE = Collections.synchronizedMap(new LinkedHashMap<String, MessageTemplate>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MessageTemplate> eldest) {
+            return size() > MAX_CACHED;
+        }
+    });
+
+    private final String source;
+    private final String[] segments;
+    private final boolean[] placeholders;
+    private final String literal;
+    // Gradients spanning a placeholder, or a colour code completed by one, can only be translated once it is resolved
+    private final boolean deferred;
+
+    private MessageTemplate(String source, List<String> segments, List<Boolean> placeholders, boolean deferred) {
+        this.source = source;
+        this.deferred = deferred;
+        this.segments = segments.toArray(new String[0]);
+        this.placeholders = new boolean[segments.size()];
+        boolean dynamic = false;
+        for (int i = 0; i < this.placeholders.length; i++) {
+            this.placeholders[i] = placeholders.get(i);
+            dynamic |= this.placeholders[i];
+        }
+        if (dynamic) {
+            this.literal = null;
+        } else {
+            this.literal = deferred ? ColourUtils.translate(String.join("", segments)) : String.join("", segments);
+        }
+    }
+
+    public static MessageTemplate compile(String message) {
+        MessageTemplate template = CACHE.get(message);
+        if (template != null) {
+            return template;
+        }
+        template = parse(message);
+        CACHE.put(message, template);
+        return template;
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static MessageTemplate parse(String message) {
+        List<String> segments = new ArrayList<>();
+        List<Boolean> placeholders = new ArrayList<>();
+        boolean deferred = message.contains("</gradient>") || message.contains("</rainbow>");
+        int literalStart = 0;
+        int index = 0;
+        while (index < message.length()) {
+            int start = message.indexOf('%', index);
+            if (start < 0) {
+                break;
+            }
+            int end = message.indexOf('%', start + 1);
+            if (end < 0) {
+                break;
+            }
+            if (!isPlaceholder(message, start + 1, end)) {
+                // The closing % may open the next placeholder, e.g. "50% off %player_name%"
+                index = end;
+                continue;
+            }
+            if (start > literalStart) {
+                segments.add(message.substring(literalStart, start));
+                placeholders.add(false);
+                // "&%color_code%" only becomes a colour code once the placeholder is filled in
+                char before = message.charAt(start - 1);
+                deferred |= before == '&' || before == '\u00A7';
+            }
+            segments.add(message.substring(start, end + 1));
+            placeholders.add(true);
+            literalStart = end + 1;
+            index = end + 1;
+        }
+        if (segments.isEmpty()) {
+            segments.add(ColourUtils.translate(message));
+            placeholders.add(false);
+            return new MessageTemplate(message, segments, placeholders, false);
+        }
+        if (literalStart < message.length()) {
+            segments.add(message.substring(literalStart));
+            placeholders.add(false);
+        }
+        if (!deferred) {
+            for (int i = 0; i < segments.size(); i++) {
+                if (!placeholders.get(i)) {
+                    segments.set(i, ColourUtils.translate(segments.get(i)));
+                }
+            }
+        }
+        return new MessageTemplate(message, segments, placeholders, deferred);
+    }
+
+    // PlaceholderAPI identifiers are "<expansion>_<params>" without whitespace
+    private static boolean isPlaceholder(String message, int from, int to) {
+        int underscore = -1;
+        for (int i = from; i < to; i++) {
+            char c = message.charAt(i);
+            if (Character.isWhitespace(c)) {
+                return false;
+            }
+            if (c == '_' && underscore < 0) {
+                underscore = i;
+            }
+        }
+        return underscore > from;
+    }
+
+    public String render(Player player) {
+        if (literal != null) {
+            return literal;
+        }
+
+        // A fresh builder per call, expansions may render other messages while this one is half built
+        StringBuilder builder = new StringBuilder(source.length() + 32);
+        for (int i = 0; i < segments.length; i++) {
+            if (!placeholders[i]) {
+                builder.append(segments[i]);
+                continue;
+            }
+            String value = PlaceholderAPIIntegration.resolvePlaceholder(player, segments[i]);
+            if (!deferred && (value.indexOf('&') >= 0 || value.indexOf('<') >= 0)) {
+                value = ColourUtils.translate(value);
+            }
+            builder.append(value);
+        }
+        return deferred ? ColourUtils.translate(builder.toString()) : builder.toString();
+    }
+
+    // Resolves the viewer independent placeholders once, leaving only per-viewer segments to render per recipient
+    public MessageTemplate resolveShared() {
+        if (literal != null) {
+            return this;
+        }
+
+        List<String> shared = new ArrayList<>(segments.length);
+        List<Boolean> dynamic = new ArrayList<>(segments.length);
+        boolean changed = false;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            boolean placeholder = placeholders[i];
+            if (placeholder && PlaceholderAPIIntegration.isGlobal(segment)) {
+                segment = PlaceholderAPIIntegration.resolvePlaceholder(null, segment);
+                if (!deferred && (segment.indexOf('&') >= 0 || segment.indexOf('<') >= 0)) {
+                    segment = ColourUtils.translate(segment);
+                }
+                placeholder = false;
+                changed = true;
+            }
+            int last = shared.size() - 1;
+            if (!placeholder && last >= 0 && !dynamic.get(last)) {
+                shared.set(last, shared.get(last) + segment);
+            } else {
+                shared.add(segment);
+                dynamic.add(placeholder);
+            }
+        }
+        return changed ? new MessageTemplate(source, shared, dynamic, deferred) : this;
+    }
+
+    public boolean isThreadSafe() {
+        for (int i = 0; i < segments.length; i++) {
+            if (placeholders[i] && !PlaceholderAPIIntegration.isThreadSafe(segments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean hasPlaceholders() {
+        return literal == null;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
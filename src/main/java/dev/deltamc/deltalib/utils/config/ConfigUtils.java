@@ -74,6 +74,10 @@ public class ConfigUtils {
         return config.getString(path, "Invalid file path specified");
     }
 
+    public static String getString(YamlDocument config, String path, String def) {
+        return config.getString(path, def);
+    }
+
     public static boolean getBoolean(YamlDocument config, String path) {
         return config.getBoolean(path, false);
     }
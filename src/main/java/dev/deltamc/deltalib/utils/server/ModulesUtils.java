@@ -10,8 +10,11 @@ import org.bukkit.event.Listener;
 import org.bukkit.plugin.RegisteredListener;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 
@@ -65,4 +68,8 @@ public class ModulesUtils {
     public void addModule(String moduleName, Supplier<Object> moduleSupplier) {
         modules.put(moduleName, moduleSupplier);
     }
+
+    public Set<String> getModuleNames() {
+        return Collections.unmodifiableSet(new HashSet<>(modules.keySet()));
+    }
 }